@@ -0,0 +1,73 @@
+package com.legacykeep.relationship.benchmarks;
+
+import com.legacykeep.relationship.gedcom.GedcomFamily;
+import com.legacykeep.relationship.gedcom.GedcomListener;
+import com.legacykeep.relationship.gedcom.GedcomParser;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Streaming parse of a synthetic GEDCOM file, as done by the import pipeline before rows
+ * are batched to the database. Forked with a small heap so a parser that retained
+ * records would fail rather than just slow down; -prof gc shows allocation per file.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx256m"})
+@State(Scope.Benchmark)
+public class GedcomParserBenchmark {
+
+    @Param({"1000000"})
+    private int persons;
+
+    private Path file;
+
+    @Setup(Level.Trial)
+    public void writeFile() throws IOException {
+        file = Files.createTempFile("synthetic-", ".ged");
+        SyntheticGedcom.write(file, persons);
+    }
+
+    @TearDown(Level.Trial)
+    public void deleteFile() throws IOException {
+        Files.deleteIfExists(file);
+    }
+
+    @Benchmark
+    public long parse(Blackhole blackhole) throws IOException {
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            return GedcomParser.parse(reader, new GedcomListener() {
+                @Override
+                public void onIndividual(String xref) {
+                    blackhole.consume(xref);
+                }
+
+                @Override
+                public void onFamily(GedcomFamily family) {
+                    blackhole.consume(family);
+                }
+            });
+        }
+    }
+}
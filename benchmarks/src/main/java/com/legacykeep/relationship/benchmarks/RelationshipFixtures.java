@@ -0,0 +1,105 @@
+package com.legacykeep.relationship.benchmarks;
+
+import com.legacykeep.relationship.dto.RelationshipRow;
+import com.legacykeep.relationship.entity.RelationshipType;
+import com.legacykeep.relationship.entity.UserRelationship;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Deterministic relationship data shaped like a typical page of the per-user listing
+ */
+final class RelationshipFixtures {
+
+    private static final String METADATA = "{\"source\": \"import\", \"verified\": true}";
+    private static final LocalDateTime CREATED_AT = LocalDateTime.of(2024, 3, 1, 12, 30, 15, 123_456_000);
+
+    private RelationshipFixtures() {
+    }
+
+    /**
+     * A small catalog with reverse pairings, keyed by ID
+     */
+    static Map<Long, RelationshipType> types() {
+        Map<Long, RelationshipType> types = new HashMap<>();
+        RelationshipType father = type(1L, "Father", RelationshipType.RelationshipCategory.FAMILY, false);
+        RelationshipType son = type(2L, "Son", RelationshipType.RelationshipCategory.FAMILY, false);
+        RelationshipType friend = type(3L, "Friend", RelationshipType.RelationshipCategory.SOCIAL, true);
+        RelationshipType colleague = type(4L, "Colleague", RelationshipType.RelationshipCategory.PROFESSIONAL, true);
+        father.setReverseType(son);
+        father.setReverseTypeId(son.getId());
+        son.setReverseType(father);
+        son.setReverseTypeId(father.getId());
+        for (RelationshipType type : List.of(father, son, friend, colleague)) {
+            types.put(type.getId(), type);
+        }
+        return types;
+    }
+
+    /**
+     * Relationship entities for one user, cycling through the catalog
+     */
+    static List<UserRelationship> entities(int count, Map<Long, RelationshipType> types) {
+        List<UserRelationship> relationships = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            relationships.add(UserRelationship.builder()
+                    .id(1_000_000L + i)
+                    .user1Id(42L)
+                    .user2Id(10_000L + i)
+                    .userLowId(42L)
+                    .userHighId(10_000L + i)
+                    .relationshipType(types.get(typeId(i)))
+                    .contextId(i % 3 == 0 ? 7L : null)
+                    .startDate(LocalDate.of(2000 + i % 20, 1 + i % 12, 1 + i % 28))
+                    .status(UserRelationship.RelationshipStatus.ACTIVE)
+                    .metadata(METADATA)
+                    .createdAt(CREATED_AT.plusSeconds(i))
+                    .updatedAt(CREATED_AT.plusSeconds(i))
+                    .build());
+        }
+        return relationships;
+    }
+
+    /**
+     * The same relationships as projected rows
+     */
+    static List<RelationshipRow> rows(int count) {
+        List<RelationshipRow> rows = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            rows.add(new RelationshipRow(
+                    1_000_000L + i,
+                    42L,
+                    10_000L + i,
+                    typeId(i),
+                    i % 3 == 0 ? 7L : null,
+                    LocalDate.of(2000 + i % 20, 1 + i % 12, 1 + i % 28),
+                    null,
+                    UserRelationship.RelationshipStatus.ACTIVE,
+                    METADATA,
+                    CREATED_AT.plusSeconds(i),
+                    CREATED_AT.plusSeconds(i)));
+        }
+        return rows;
+    }
+
+    private static long typeId(int i) {
+        return 1L + i % 4;
+    }
+
+    private static RelationshipType type(Long id, String name, RelationshipType.RelationshipCategory category,
+                                         boolean bidirectional) {
+        return RelationshipType.builder()
+                .id(id)
+                .name(name)
+                .category(category)
+                .bidirectional(bidirectional)
+                .createdAt(CREATED_AT)
+                .updatedAt(CREATED_AT)
+                .build();
+    }
+}
@@ -0,0 +1,116 @@
+package com.legacykeep.relationship.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.legacykeep.relationship.config.DatabaseConfig;
+import com.legacykeep.relationship.dto.ApiResponse;
+import com.legacykeep.relationship.dto.RelationshipRow;
+import com.legacykeep.relationship.dto.response.PaginatedRelationshipResponse;
+import com.legacykeep.relationship.dto.response.UserRelationshipResponse;
+import com.legacykeep.relationship.entity.RelationshipType;
+import com.legacykeep.relationship.entity.UserRelationship;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mapping and serialization cost of one page of the per-user relationship listing:
+ * entity page to PaginatedRelationshipResponse, the projected-row alternative, and
+ * writing the ApiResponse envelope with the application's ObjectMapper.
+ *
+ * Run with -prof gc to report allocation per operation alongside time.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Benchmark)
+public class RelationshipResponseBenchmark {
+
+    @Param({"20", "100", "1000"})
+    private int pageSize;
+
+    private ObjectMapper objectMapper;
+    private Map<Long, RelationshipType> types;
+    private Page<UserRelationship> entityPage;
+    private Page<RelationshipRow> rowPage;
+    private ApiResponse<PaginatedRelationshipResponse> mappedResponse;
+
+    @Setup
+    public void setUp() {
+        objectMapper = new DatabaseConfig().objectMapper();
+        types = RelationshipFixtures.types();
+        PageRequest pageRequest = PageRequest.of(0, pageSize);
+        long total = pageSize * 5L;
+        entityPage = new PageImpl<>(RelationshipFixtures.entities(pageSize, types), pageRequest, total);
+        rowPage = new PageImpl<>(RelationshipFixtures.rows(pageSize), pageRequest, total);
+        mappedResponse = ApiResponse.success(PaginatedRelationshipResponse.fromPage(entityPage), "User relationships retrieved successfully");
+    }
+
+    /**
+     * Entity page to response DTOs, as the listing did before projections
+     */
+    @Benchmark
+    public PaginatedRelationshipResponse mapEntityPage() {
+        return PaginatedRelationshipResponse.fromPage(entityPage);
+    }
+
+    /**
+     * Projected rows to response DTOs, with types resolved from an in-memory catalog
+     */
+    @Benchmark
+    public PaginatedRelationshipResponse mapRowPage() {
+        return PaginatedRelationshipResponse.fromResponsePage(rowPage.map(this::toResponse));
+    }
+
+    /**
+     * Serialization of an already mapped page wrapped in ApiResponse
+     */
+    @Benchmark
+    public byte[] serializePage() throws Exception {
+        return objectMapper.writeValueAsBytes(mappedResponse);
+    }
+
+    /**
+     * Full hot path: map the entity page, wrap it and serialize it
+     */
+    @Benchmark
+    public byte[] mapAndSerializeEntityPage() throws Exception {
+        return objectMapper.writeValueAsBytes(ApiResponse.success(
+                PaginatedRelationshipResponse.fromPage(entityPage), "User relationships retrieved successfully"));
+    }
+
+    /**
+     * Full hot path for projected rows: map, wrap and serialize
+     */
+    @Benchmark
+    public byte[] mapAndSerializeRowPage() throws Exception {
+        List<UserRelationshipResponse> responses = new ArrayList<>(pageSize);
+        for (RelationshipRow row : rowPage.getContent()) {
+            responses.add(toResponse(row));
+        }
+        return objectMapper.writeValueAsBytes(ApiResponse.success(
+                PaginatedRelationshipResponse.fromResponsePage(new PageImpl<>(responses, rowPage.getPageable(), rowPage.getTotalElements())),
+                "User relationships retrieved successfully"));
+    }
+
+    private UserRelationshipResponse toResponse(RelationshipRow row) {
+        return UserRelationshipResponse.fromRow(row, types.get(row.relationshipTypeId()));
+    }
+}
@@ -0,0 +1,54 @@
+package com.legacykeep.relationship.benchmarks;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Writes a synthetic GEDCOM 5.5 file of nuclear families: every family has a husband,
+ * a wife and two children, each with a name, sex and birth event, as exported by
+ * common genealogy tools.
+ */
+final class SyntheticGedcom {
+
+    private static final int PERSONS_PER_FAMILY = 4;
+
+    private SyntheticGedcom() {
+    }
+
+    /**
+     * Write a file with the given number of individuals, rounded up to whole families
+     */
+    static void write(Path file, int persons) throws IOException {
+        int families = (persons + PERSONS_PER_FAMILY - 1) / PERSONS_PER_FAMILY;
+        try (BufferedWriter out = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            out.write("0 HEAD\n1 SOUR SYNTHETIC\n1 GEDC\n2 VERS 5.5.1\n2 FORM LINEAGE-LINKED\n1 CHAR UTF-8\n");
+            for (int f = 0; f < families; f++) {
+                long first = (long) f * PERSONS_PER_FAMILY + 1;
+                writeIndividual(out, first, "John", "M", f);
+                writeIndividual(out, first + 1, "Mary", "F", f);
+                writeIndividual(out, first + 2, "James", "M", f);
+                writeIndividual(out, first + 3, "Anne", "F", f);
+            }
+            for (int f = 0; f < families; f++) {
+                long first = (long) f * PERSONS_PER_FAMILY + 1;
+                out.write("0 @F" + (f + 1) + "@ FAM\n");
+                out.write("1 HUSB @I" + first + "@\n");
+                out.write("1 WIFE @I" + (first + 1) + "@\n");
+                out.write("1 MARR\n2 DATE 1 JUN 1950\n");
+                out.write("1 CHIL @I" + (first + 2) + "@\n");
+                out.write("1 CHIL @I" + (first + 3) + "@\n");
+            }
+            out.write("0 TRLR\n");
+        }
+    }
+
+    private static void writeIndividual(BufferedWriter out, long id, String given, String sex, int family) throws IOException {
+        out.write("0 @I" + id + "@ INDI\n");
+        out.write("1 NAME " + given + " /Family" + family + "/\n");
+        out.write("1 SEX " + sex + "\n");
+        out.write("1 BIRT\n2 DATE 1 JAN " + (1900 + family % 100) + "\n2 PLAC Springfield\n");
+    }
+}
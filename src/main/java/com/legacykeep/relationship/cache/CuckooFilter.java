@@ -0,0 +1,159 @@
+package com.legacykeep.relationship.cache;
+
+/**
+ * Cuckoo filter over 64-bit hashes with 16-bit fingerprints and four slots per bucket.
+ * Unlike a Bloom filter it supports deletes; inserting the same hash twice stores two
+ * copies, so each copy must be deleted separately. Not thread-safe.
+ */
+final class CuckooFilter {
+
+    static final int SLOTS_PER_BUCKET = 4;
+    private static final double TARGET_LOAD = 0.95;
+    private static final int MAX_KICKS = 500;
+
+    private final short[] slots;
+    private final int bucketMask;
+    private int size;
+    private long random = 0x2545F4914F6CDD1DL;
+
+    // A fingerprint displaced by a failed insert is parked here so it is never lost
+    private short victimFingerprint;
+    private int victimBucket;
+
+    CuckooFilter(long capacity) {
+        long buckets = Math.max(1, (long) Math.ceil(capacity / (SLOTS_PER_BUCKET * TARGET_LOAD)));
+        int bucketCount = Integer.highestOneBit((int) Math.min(buckets, 1 << 28));
+        if (bucketCount < buckets) {
+            bucketCount <<= 1;
+        }
+        slots = new short[bucketCount * SLOTS_PER_BUCKET];
+        bucketMask = bucketCount - 1;
+    }
+
+    /**
+     * Add a hash, returning false when the filter is too full to take it
+     */
+    boolean insert(long hash) {
+        if (victimFingerprint != 0) {
+            return false;
+        }
+        short fingerprint = fingerprint(hash);
+        int bucket1 = (int) hash & bucketMask;
+        int bucket2 = alternate(bucket1, fingerprint);
+        if (tryPlace(bucket1, fingerprint) || tryPlace(bucket2, fingerprint)) {
+            size++;
+            return true;
+        }
+
+        int bucket = (nextRandom() & 1) == 0 ? bucket1 : bucket2;
+        for (int kick = 0; kick < MAX_KICKS; kick++) {
+            int slot = bucket * SLOTS_PER_BUCKET + (nextRandom() & (SLOTS_PER_BUCKET - 1));
+            short evicted = slots[slot];
+            slots[slot] = fingerprint;
+            fingerprint = evicted;
+            bucket = alternate(bucket, fingerprint);
+            if (tryPlace(bucket, fingerprint)) {
+                size++;
+                return true;
+            }
+        }
+        victimFingerprint = fingerprint;
+        victimBucket = bucket;
+        size++;
+        return false;
+    }
+
+    /**
+     * Check whether the hash may have been inserted; false means it definitely was not
+     */
+    boolean mightContain(long hash) {
+        short fingerprint = fingerprint(hash);
+        int bucket1 = (int) hash & bucketMask;
+        int bucket2 = alternate(bucket1, fingerprint);
+        return bucketContains(bucket1, fingerprint) || bucketContains(bucket2, fingerprint)
+                || (victimFingerprint == fingerprint && (victimBucket == bucket1 || victimBucket == bucket2));
+    }
+
+    /**
+     * Remove one copy of a hash, returning false if none was present
+     */
+    boolean delete(long hash) {
+        short fingerprint = fingerprint(hash);
+        int bucket1 = (int) hash & bucketMask;
+        int bucket2 = alternate(bucket1, fingerprint);
+        if (victimFingerprint == fingerprint && (victimBucket == bucket1 || victimBucket == bucket2)) {
+            victimFingerprint = 0;
+            size--;
+            return true;
+        }
+        if (tryRemove(bucket1, fingerprint) || tryRemove(bucket2, fingerprint)) {
+            size--;
+            if (victimFingerprint != 0 && tryPlace(victimBucket, victimFingerprint)) {
+                victimFingerprint = 0;
+            }
+            return true;
+        }
+        return false;
+    }
+
+    int size() {
+        return size;
+    }
+
+    int capacity() {
+        return slots.length;
+    }
+
+    long memoryBytes() {
+        return (long) slots.length * Short.BYTES;
+    }
+
+    private boolean tryPlace(int bucket, short fingerprint) {
+        int base = bucket * SLOTS_PER_BUCKET;
+        for (int i = base; i < base + SLOTS_PER_BUCKET; i++) {
+            if (slots[i] == 0) {
+                slots[i] = fingerprint;
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean tryRemove(int bucket, short fingerprint) {
+        int base = bucket * SLOTS_PER_BUCKET;
+        for (int i = base; i < base + SLOTS_PER_BUCKET; i++) {
+            if (slots[i] == fingerprint) {
+                slots[i] = 0;
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean bucketContains(int bucket, short fingerprint) {
+        int base = bucket * SLOTS_PER_BUCKET;
+        for (int i = base; i < base + SLOTS_PER_BUCKET; i++) {
+            if (slots[i] == fingerprint) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private int alternate(int bucket, short fingerprint) {
+        // XOR with a hash of the fingerprint is its own inverse, so either bucket leads to the other
+        return (bucket ^ ((fingerprint & 0xFFFF) * 0x5BD1E995)) & bucketMask;
+    }
+
+    private static short fingerprint(long hash) {
+        short fingerprint = (short) (hash >>> 48);
+        return fingerprint == 0 ? 1 : fingerprint;
+    }
+
+    private int nextRandom() {
+        random ^= random << 13;
+        random ^= random >>> 7;
+        random ^= random << 17;
+        return (int) random;
+    }
+}
@@ -0,0 +1,196 @@
+package com.legacykeep.relationship.cache;
+
+import com.legacykeep.relationship.dto.response.FamilyTreeResponse;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.StringJoiner;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Bounded LRU cache of family trees keyed by (userId, depth).
+ * A reverse index from member user to cached trees lets a relationship change evict
+ * exactly the trees that contain either of its users. Evictions are announced on the
+ * cache invalidation channel and applied by every other instance; entries also expire
+ * after a fixed time, which bounds staleness should an announcement be lost.
+ */
+@Component
+@RequiredArgsConstructor
+public class FamilyTreeCache {
+
+    /**
+     * Name under which evictions are announced on the invalidation channel
+     */
+    private static final String INVALIDATION_NAME = "familyTrees";
+
+    private final TwoTierCacheManager cacheManager;
+
+    @Value("${relationship.family-tree.cache-size:10000}")
+    private int maxEntries;
+
+    @Value("${relationship.family-tree.cache-ttl-ms:300000}")
+    private long ttlMillis;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final LinkedHashMap<Key, Entry> trees = new LinkedHashMap<>(256, 0.75f, true);
+    private final Map<Long, Set<Key>> treesByMember = new HashMap<>();
+    private long invalidations;
+
+    @PostConstruct
+    void subscribe() {
+        cacheManager.addInvalidationHandler(INVALIDATION_NAME, this::onInvalidation);
+    }
+
+    /**
+     * Cached tree for a user and depth, or null
+     */
+    public FamilyTreeResponse get(Long userId, int depth) {
+        lock.lock();
+        try {
+            Key key = new Key(userId, depth);
+            Entry entry = trees.get(key);
+            if (entry == null) {
+                return null;
+            }
+            if (System.nanoTime() - entry.cachedAt() > TimeUnit.MILLISECONDS.toNanos(ttlMillis)) {
+                remove(key);
+                return null;
+            }
+            return entry.tree();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Token to pass to {@link #put} so trees computed across an invalidation are not stored
+     */
+    public long version() {
+        lock.lock();
+        try {
+            return invalidations;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Store a tree unless an invalidation happened since the given version was taken
+     */
+    public void put(Long userId, int depth, FamilyTreeResponse tree, long version) {
+        lock.lock();
+        try {
+            if (version != invalidations) {
+                return;
+            }
+            Key key = new Key(userId, depth);
+            remove(key);
+            trees.put(key, new Entry(tree, System.nanoTime()));
+            for (FamilyTreeResponse.Node node : tree.getNodes()) {
+                treesByMember.computeIfAbsent(node.getUserId(), id -> new HashSet<>()).add(key);
+            }
+            if (trees.size() > maxEntries) {
+                Iterator<Key> eldest = trees.keySet().iterator();
+                Key evicted = eldest.next();
+                remove(evicted);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Evict every cached tree that contains any of the given users, here and on every other instance
+     */
+    public void evictMembers(Long... userIds) {
+        evictMembersLocal(userIds);
+        StringJoiner key = new StringJoiner(",");
+        for (Long userId : userIds) {
+            key.add(String.valueOf(userId));
+        }
+        cacheManager.publishInvalidation(INVALIDATION_NAME, key.toString());
+    }
+
+    /**
+     * Evict all cached trees, here and on every other instance
+     */
+    public void clear() {
+        clearLocal();
+        cacheManager.publishInvalidation(INVALIDATION_NAME, null);
+    }
+
+    private void onInvalidation(String key) {
+        if (key == null) {
+            clearLocal();
+            return;
+        }
+        String[] ids = key.split(",");
+        Long[] userIds = new Long[ids.length];
+        for (int i = 0; i < ids.length; i++) {
+            userIds[i] = Long.valueOf(ids[i]);
+        }
+        evictMembersLocal(userIds);
+    }
+
+    private void evictMembersLocal(Long... userIds) {
+        lock.lock();
+        try {
+            invalidations++;
+            for (Long userId : userIds) {
+                Set<Key> keys = treesByMember.get(userId);
+                if (keys != null) {
+                    for (Key key : Set.copyOf(keys)) {
+                        remove(key);
+                    }
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void clearLocal() {
+        lock.lock();
+        try {
+            invalidations++;
+            trees.clear();
+            treesByMember.clear();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Caller must hold the lock
+     */
+    private void remove(Key key) {
+        Entry entry = trees.remove(key);
+        if (entry == null) {
+            return;
+        }
+        for (FamilyTreeResponse.Node node : entry.tree().getNodes()) {
+            Set<Key> keys = treesByMember.get(node.getUserId());
+            if (keys != null) {
+                keys.remove(key);
+                if (keys.isEmpty()) {
+                    treesByMember.remove(node.getUserId());
+                }
+            }
+        }
+    }
+
+    private record Key(Long userId, int depth) {
+    }
+
+    private record Entry(FamilyTreeResponse tree, long cachedAt) {
+    }
+}
@@ -0,0 +1,66 @@
+package com.legacykeep.relationship.cache;
+
+import com.legacykeep.relationship.config.CacheConfig;
+import lombok.RequiredArgsConstructor;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+
+/**
+ * Evicts cached relationship reads by the keys a change affects.
+ * Call after commit, so a concurrent read cannot cache the state being replaced.
+ */
+@Component
+@RequiredArgsConstructor
+public class RelationshipCacheEvictor {
+
+    private final CacheManager cacheManager;
+
+    /**
+     * Evict the listings and counts of users who gained or lost a relationship
+     */
+    public void evictUsers(Long... userIds) {
+        for (Long userId : userIds) {
+            evict(CacheConfig.USER_RELATIONSHIPS, userId);
+            evict(CacheConfig.USER_RELATIONSHIP_COUNTS, userId);
+        }
+    }
+
+    /**
+     * Evict the listings of users one of whose relationships changed in place
+     */
+    public void evictUserListings(Long... userIds) {
+        for (Long userId : userIds) {
+            evict(CacheConfig.USER_RELATIONSHIPS, userId);
+        }
+    }
+
+    /**
+     * Evict a single relationship
+     */
+    public void evictRelationship(Long id) {
+        evict(CacheConfig.RELATIONSHIP_BY_ID, id);
+    }
+
+    /**
+     * Evict every cached response, for changes such as a renamed relationship type that reach all of them
+     */
+    public void evictAllResponses() {
+        clear(CacheConfig.USER_RELATIONSHIPS);
+        clear(CacheConfig.RELATIONSHIP_BY_ID);
+    }
+
+    private void evict(String cacheName, Long key) {
+        Cache cache = cacheManager.getCache(cacheName);
+        if (cache != null) {
+            cache.evict(key);
+        }
+    }
+
+    private void clear(String cacheName) {
+        Cache cache = cacheManager.getCache(cacheName);
+        if (cache != null) {
+            cache.clear();
+        }
+    }
+}
@@ -0,0 +1,382 @@
+package com.legacykeep.relationship.cache;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Sharded cuckoo filter over the unordered user pairs of all relationships.
+ * Answers "definitely no relationship" without a query; a positive answer must still be
+ * confirmed against the database. A pair has at most one relationship, so it is stored
+ * as a single fingerprint, added only when the filter does not already match it.
+ *
+ * Pairs created on this instance are added as soon as the relationship is saved, before
+ * commit; pairs created elsewhere are added when their change arrives on the change topic.
+ * Until then another instance's write reads as "definitely no" here; the lag is the outbox
+ * relay poll interval plus Kafka delivery, normally well under a second, but it grows if
+ * the relay or this consumer falls behind. Without cross-instance sync (sync disabled or
+ * the in-memory transport) other instances' writes would never arrive, so the filter only
+ * answers "definitely no" once the change subscriber has been assigned the topic and
+ * otherwise leaves every check to the database. A rollback only leaves a false positive. Fingerprints are never deleted, because a fingerprint shared with another
+ * pair cannot be told apart from it: removals are only counted, and once they reach a
+ * share of the entries the filter is rebuilt from the database to shed the stale ones.
+ * If a shard fills up the filter answers "maybe" for everything until a larger one has
+ * been rebuilt in the background.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class RelationshipExistenceFilter {
+
+    private static final String COUNT_SQL = "SELECT COUNT(*) FROM user_relationships";
+    private static final String LOAD_SQL = "SELECT user_low_id, user_high_id FROM user_relationships";
+    private static final int MIN_CAPACITY = 1 << 16;
+
+    private final DataSource dataSource;
+    private final PlatformTransactionManager transactionManager;
+    private final MeterRegistry meterRegistry;
+
+    private final AtomicBoolean rebuilding = new AtomicBoolean();
+    private final AtomicBoolean rebuildQueued = new AtomicBoolean();
+    private final AtomicLong removalsSinceBuild = new AtomicLong();
+    private final ExecutorService rebuilder = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "relationship-existence-filter-rebuild");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    @Value("${relationship.existence-filter.enabled:true}")
+    private boolean enabled;
+
+    @Value("${relationship.existence-filter.shards:64}")
+    private int shardCount;
+
+    @Value("${relationship.existence-filter.headroom:2.0}")
+    private double headroom;
+
+    @Value("${relationship.existence-filter.load-fetch-size:10000}")
+    private int loadFetchSize;
+
+    @Value("${relationship.existence-filter.rebuild-removed-ratio:0.25}")
+    private double rebuildRemovedRatio;
+
+    private volatile CuckooFilter[] shards;
+
+    /**
+     * One lock per shard index, shared by every generation of the shards
+     */
+    private ReentrantLock[] locks;
+    private volatile boolean saturated;
+    private volatile boolean synced;
+    private volatile double growth = 1.0;
+    private volatile Queue<Long> pendingAdds;
+    private volatile long builtEntries;
+
+    private Counter definiteNegatives;
+    private Counter falsePositives;
+
+    @PostConstruct
+    void init() {
+        locks = new ReentrantLock[shardCount];
+        for (int i = 0; i < shardCount; i++) {
+            locks[i] = new ReentrantLock();
+        }
+        definiteNegatives = Counter.builder("relationship.existence_filter.definite_negatives")
+                .description("Existence checks answered by the filter without a query")
+                .register(meterRegistry);
+        falsePositives = Counter.builder("relationship.existence_filter.false_positives")
+                .description("Existence checks the filter passed on that the database answered false")
+                .register(meterRegistry);
+        Gauge.builder("relationship.existence_filter.memory", this, RelationshipExistenceFilter::memoryBytes)
+                .description("Bytes held by filter fingerprints")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        Gauge.builder("relationship.existence_filter.entries", this, RelationshipExistenceFilter::size)
+                .description("Relationships currently represented in the filter")
+                .register(meterRegistry);
+        Gauge.builder("relationship.existence_filter.load_factor", this, RelationshipExistenceFilter::loadFactor)
+                .description("Fraction of fingerprint slots in use")
+                .register(meterRegistry);
+        Gauge.builder("relationship.existence_filter.fpp.estimated", this, RelationshipExistenceFilter::estimatedFalsePositiveRate)
+                .description("Theoretical false positive rate at the current load")
+                .register(meterRegistry);
+        Gauge.builder("relationship.existence_filter.fpp.observed", this, RelationshipExistenceFilter::observedFalsePositiveRate)
+                .description("Share of negative lookups the filter failed to answer")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Build the filter once the application has started
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (enabled) {
+            reload();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        rebuilder.shutdownNow();
+    }
+
+    /**
+     * Rebuild the filter from the database, sized for the current row count plus headroom
+     */
+    public void reload() {
+        if (!rebuilding.compareAndSet(false, true)) {
+            return;
+        }
+        boolean retry = false;
+        try {
+            long started = System.currentTimeMillis();
+            pendingAdds = new ConcurrentLinkedQueue<>();
+            removalsSinceBuild.set(0);
+
+            JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+            jdbcTemplate.setFetchSize(loadFetchSize);
+            TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+            transactionTemplate.setReadOnly(true);
+
+            boolean[] full = new boolean[1];
+            CuckooFilter[] built = transactionTemplate.execute(status -> {
+                Long rows = jdbcTemplate.queryForObject(COUNT_SQL, Long.class);
+                long capacity = Math.max(MIN_CAPACITY, (long) ((rows == null ? 0 : rows) * headroom * growth));
+                CuckooFilter[] filters = new CuckooFilter[shardCount];
+                for (int i = 0; i < shardCount; i++) {
+                    filters[i] = new CuckooFilter(capacity / shardCount + 1);
+                }
+                // Postgres only streams with a cursor inside a transaction
+                jdbcTemplate.query(LOAD_SQL, (RowCallbackHandler) rs -> {
+                    long hash = hash(rs.getLong(1), rs.getLong(2));
+                    full[0] |= !insertIfAbsent(filters[shardIndex(hash)], hash);
+                });
+                return filters;
+            });
+
+            shards = built;
+            Queue<Long> pending = pendingAdds;
+            pendingAdds = null;
+            for (Long hash : pending) {
+                full[0] |= !insert(built, hash);
+            }
+            saturated = full[0];
+            builtEntries = size();
+            if (full[0]) {
+                growth *= 2;
+                retry = true;
+                log.warn("Relationship existence filter filled up while building; rebuilding with more capacity");
+            }
+
+            log.info("Built relationship existence filter with {} entries ({} KiB) in {} ms",
+                    size(), memoryBytes() / 1024, System.currentTimeMillis() - started);
+        } catch (RuntimeException e) {
+            // Any previous filter stays in place; without one every check goes to the database
+            log.error("Failed to build relationship existence filter", e);
+        } finally {
+            pendingAdds = null;
+            rebuilding.set(false);
+        }
+        if (retry) {
+            rebuilder.execute(this::reload);
+        }
+    }
+
+    /**
+     * Check whether two users may have a relationship; false means they definitely do not
+     */
+    public boolean mightContain(long user1Id, long user2Id) {
+        CuckooFilter[] current = shards;
+        if (!enabled || current == null || saturated || !synced) {
+            return true;
+        }
+        long hash = hash(Math.min(user1Id, user2Id), Math.max(user1Id, user2Id));
+        int index = shardIndex(hash);
+        boolean maybe;
+        locks[index].lock();
+        try {
+            maybe = current[index].mightContain(hash);
+        } finally {
+            locks[index].unlock();
+        }
+        if (!maybe) {
+            definiteNegatives.increment();
+        }
+        return maybe;
+    }
+
+    /**
+     * Record that changes made on other instances are being received, allowing the filter
+     * to answer "definitely no"
+     */
+    public void markSynced() {
+        if (!synced) {
+            synced = true;
+            log.info("Relationship existence filter is receiving changes from other instances");
+        }
+    }
+
+    /**
+     * Record that a pair the filter passed on turned out to have no relationship
+     */
+    public void recordFalsePositive() {
+        falsePositives.increment();
+    }
+
+    /**
+     * Add the relationship between two users
+     */
+    public void add(long user1Id, long user2Id) {
+        if (!enabled) {
+            return;
+        }
+        long hash = hash(Math.min(user1Id, user2Id), Math.max(user1Id, user2Id));
+        Queue<Long> pending = pendingAdds;
+        if (pending != null) {
+            pending.add(hash);
+        }
+        CuckooFilter[] current = shards;
+        if (current != null && !insert(current, hash) && !saturated) {
+            saturated = true;
+            growth *= 2;
+            log.warn("Relationship existence filter is full; rebuilding with more capacity");
+            rebuilder.execute(this::reload);
+        }
+    }
+
+    /**
+     * Record that a relationship was deleted. Its fingerprint stays, leaving a false positive,
+     * until enough removals have accumulated to rebuild the filter. A delete made on this
+     * instance is also recorded when it arrives on the change topic, which only brings the
+     * rebuild forward.
+     */
+    public void recordRemoval() {
+        if (!enabled || shards == null) {
+            return;
+        }
+        long removals = removalsSinceBuild.incrementAndGet();
+        if (removals >= Math.max(1, (long) (builtEntries * rebuildRemovedRatio)) && rebuildQueued.compareAndSet(false, true)) {
+            log.info("Rebuilding relationship existence filter after {} removals", removals);
+            rebuilder.execute(() -> {
+                rebuildQueued.set(false);
+                reload();
+            });
+        }
+    }
+
+    /**
+     * Relationships currently represented in the filter
+     */
+    public long size() {
+        long size = 0;
+        CuckooFilter[] current = shards;
+        if (current != null) {
+            for (int i = 0; i < current.length; i++) {
+                locks[i].lock();
+                try {
+                    size += current[i].size();
+                } finally {
+                    locks[i].unlock();
+                }
+            }
+        }
+        return size;
+    }
+
+    /**
+     * Bytes held by filter fingerprints
+     */
+    public long memoryBytes() {
+        long bytes = 0;
+        CuckooFilter[] current = shards;
+        if (current != null) {
+            for (CuckooFilter shard : current) {
+                bytes += shard.memoryBytes();
+            }
+        }
+        return bytes;
+    }
+
+    /**
+     * Fraction of fingerprint slots in use
+     */
+    public double loadFactor() {
+        long capacity = 0;
+        CuckooFilter[] current = shards;
+        if (current != null) {
+            for (CuckooFilter shard : current) {
+                capacity += shard.capacity();
+            }
+        }
+        return capacity == 0 ? 0.0 : (double) size() / capacity;
+    }
+
+    /**
+     * Theoretical false positive rate: a lookup compares against up to two buckets of
+     * fingerprints, each matching with probability 1/65535
+     */
+    public double estimatedFalsePositiveRate() {
+        double comparisons = 2.0 * CuckooFilter.SLOTS_PER_BUCKET * loadFactor();
+        return 1.0 - Math.pow(1.0 - 1.0 / 65535, comparisons);
+    }
+
+    /**
+     * False positives as a share of lookups for pairs with no relationship
+     */
+    public double observedFalsePositiveRate() {
+        double negatives = definiteNegatives.count() + falsePositives.count();
+        return negatives == 0 ? 0.0 : falsePositives.count() / negatives;
+    }
+
+    private boolean insert(CuckooFilter[] filters, long hash) {
+        int index = shardIndex(hash);
+        locks[index].lock();
+        try {
+            return insertIfAbsent(filters[index], hash);
+        } finally {
+            locks[index].unlock();
+        }
+    }
+
+    /**
+     * Caller must hold the shard's lock, or own the shard exclusively
+     */
+    private static boolean insertIfAbsent(CuckooFilter shard, long hash) {
+        return shard.mightContain(hash) || shard.insert(hash);
+    }
+
+    private int shardIndex(long hash) {
+        return (int) ((hash >>> 32) & Integer.MAX_VALUE) % shardCount;
+    }
+
+    private static long hash(long lowId, long highId) {
+        return mix(mix(lowId) + highId);
+    }
+
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
@@ -0,0 +1,262 @@
+package com.legacykeep.relationship.cache;
+
+import com.legacykeep.relationship.entity.RelationshipType;
+import com.legacykeep.relationship.repository.RelationshipTypeRepository;
+import com.legacykeep.relationship.util.TransactionCallbacks;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import jakarta.annotation.PostConstruct;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * In-memory registry of all relationship types.
+ * The catalog is small and rarely changes, so it is held as an immutable snapshot
+ * indexed by ID, name, category and bidirectional flag. The snapshot is swapped
+ * atomically whenever a type is created, updated or deleted on any instance: writers
+ * announce the change on the cache invalidation channel, and a periodic refresh bounds
+ * staleness should an announcement be lost. Lookups return copies, so callers cannot
+ * change the shared snapshot.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class RelationshipTypeRegistry {
+
+    /**
+     * Name under which catalog changes are announced on the invalidation channel
+     */
+    private static final String INVALIDATION_NAME = "relationshipTypes";
+
+    private final RelationshipTypeRepository relationshipTypeRepository;
+    private final TwoTierCacheManager cacheManager;
+
+    private final AtomicReference<Snapshot> snapshot = new AtomicReference<>();
+    private final AtomicLong loads = new AtomicLong();
+
+    @PostConstruct
+    void subscribe() {
+        cacheManager.addInvalidationHandler(INVALIDATION_NAME, key -> reload());
+    }
+
+    /**
+     * Load the catalog once the application has started
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        reload();
+    }
+
+    /**
+     * Reload periodically in case a change announcement from another instance was lost
+     */
+    @Scheduled(initialDelayString = "${relationship.type-registry.refresh-interval-ms:300000}",
+            fixedDelayString = "${relationship.type-registry.refresh-interval-ms:300000}")
+    public void refresh() {
+        reload();
+    }
+
+    /**
+     * Rebuild the snapshot from the database and swap it in.
+     * Loads run without a lock; a load only replaces a snapshot from an earlier load,
+     * so a slow load never overwrites the result of one that started after it.
+     */
+    public void reload() {
+        long version = loads.incrementAndGet();
+        Snapshot loaded = Snapshot.of(version, relationshipTypeRepository.findAllWithReverseType());
+        Snapshot current;
+        do {
+            current = snapshot.get();
+            if (current != null && current.version > version) {
+                return;
+            }
+        } while (!snapshot.compareAndSet(current, loaded));
+        log.debug("Loaded {} relationship types into registry", loaded.all.size());
+    }
+
+    /**
+     * Reload the snapshot and announce the change to other instances once the current
+     * transaction commits, or immediately when there is none
+     */
+    public void reloadAfterCommit() {
+        TransactionCallbacks.afterCommit(() -> {
+            reload();
+            cacheManager.publishInvalidation(INVALIDATION_NAME, null);
+        });
+    }
+
+    /**
+     * Get all relationship types
+     */
+    public List<RelationshipType> findAll() {
+        return copyAll(snapshot().all);
+    }
+
+    /**
+     * Find relationship type by ID
+     */
+    public Optional<RelationshipType> findById(Long id) {
+        return id == null ? Optional.empty() : Optional.ofNullable(snapshot().byId.get(id)).map(RelationshipTypeRegistry::copy);
+    }
+
+    /**
+     * Find relationship type by its exact name
+     */
+    public Optional<RelationshipType> findByName(String name) {
+        return name == null ? Optional.empty() : Optional.ofNullable(snapshot().byName.get(name)).map(RelationshipTypeRegistry::copy);
+    }
+
+    /**
+     * Find relationship types by category
+     */
+    public List<RelationshipType> findByCategory(RelationshipType.RelationshipCategory category) {
+        return copyAll(snapshot().byCategory.getOrDefault(category, Collections.emptyList()));
+    }
+
+    /**
+     * Find relationship types by bidirectional flag
+     */
+    public List<RelationshipType> findByBidirectional(boolean bidirectional) {
+        return copyAll(bidirectional ? snapshot().bidirectional : snapshot().unidirectional);
+    }
+
+    /**
+     * Find relationship types whose name contains the given text (case insensitive)
+     */
+    public List<RelationshipType> search(String name) {
+        String needle = name.toLowerCase(Locale.ROOT);
+        List<RelationshipType> matches = new ArrayList<>();
+        for (RelationshipType type : snapshot().all) {
+            if (type.getName().toLowerCase(Locale.ROOT).contains(needle)) {
+                matches.add(copy(type));
+            }
+        }
+        return matches;
+    }
+
+    private Snapshot snapshot() {
+        Snapshot current = snapshot.get();
+        if (current == null) {
+            reload();
+            current = snapshot.get();
+        }
+        return current;
+    }
+
+    private static List<RelationshipType> copyAll(List<RelationshipType> types) {
+        List<RelationshipType> copies = new ArrayList<>(types.size());
+        for (RelationshipType type : types) {
+            copies.add(copy(type));
+        }
+        return copies;
+    }
+
+    /**
+     * Copy of a snapshot type and of its reverse type. The reverse copy's own reverseType
+     * is left unset (its reverseTypeId is kept), so copies never form a cycle.
+     */
+    private static RelationshipType copy(RelationshipType type) {
+        RelationshipType copy = shallowCopy(type);
+        if (type.getReverseType() != null) {
+            copy.setReverseType(shallowCopy(type.getReverseType()));
+        }
+        return copy;
+    }
+
+    private static RelationshipType shallowCopy(RelationshipType type) {
+        return RelationshipType.builder()
+                .id(type.getId())
+                .name(type.getName())
+                .category(type.getCategory())
+                .bidirectional(type.getBidirectional())
+                .reverseTypeId(type.getReverseTypeId())
+                .metadata(type.getMetadata())
+                .createdAt(type.getCreatedAt())
+                .updatedAt(type.getUpdatedAt())
+                .build();
+    }
+
+    /**
+     * Immutable view of the catalog. Types are detached copies whose reverseType
+     * points at the copy held in the same snapshot, so no proxy is ever initialized.
+     * They are never handed out directly.
+     */
+    private static final class Snapshot {
+
+        private final long version;
+        private final List<RelationshipType> all;
+        private final Map<Long, RelationshipType> byId;
+        private final Map<String, RelationshipType> byName;
+        private final Map<RelationshipType.RelationshipCategory, List<RelationshipType>> byCategory;
+        private final List<RelationshipType> bidirectional;
+        private final List<RelationshipType> unidirectional;
+
+        private Snapshot(long version,
+                         List<RelationshipType> all,
+                         Map<Long, RelationshipType> byId,
+                         Map<String, RelationshipType> byName,
+                         Map<RelationshipType.RelationshipCategory, List<RelationshipType>> byCategory,
+                         List<RelationshipType> bidirectional,
+                         List<RelationshipType> unidirectional) {
+            this.version = version;
+            this.all = all;
+            this.byId = byId;
+            this.byName = byName;
+            this.byCategory = byCategory;
+            this.bidirectional = bidirectional;
+            this.unidirectional = unidirectional;
+        }
+
+        private static Snapshot of(long version, List<RelationshipType> loaded) {
+            Map<Long, RelationshipType> byId = new HashMap<>();
+            for (RelationshipType type : loaded) {
+                byId.put(type.getId(), shallowCopy(type));
+            }
+
+            List<RelationshipType> all = new ArrayList<>(loaded.size());
+            Map<String, RelationshipType> byName = new HashMap<>();
+            Map<RelationshipType.RelationshipCategory, List<RelationshipType>> byCategory =
+                    new EnumMap<>(RelationshipType.RelationshipCategory.class);
+            List<RelationshipType> bidirectional = new ArrayList<>();
+            List<RelationshipType> unidirectional = new ArrayList<>();
+
+            for (RelationshipType type : loaded) {
+                RelationshipType copy = byId.get(type.getId());
+                if (type.getReverseType() != null) {
+                    copy.setReverseType(byId.get(type.getReverseType().getId()));
+                }
+                all.add(copy);
+                byName.put(copy.getName(), copy);
+                byCategory.computeIfAbsent(copy.getCategory(), c -> new ArrayList<>()).add(copy);
+                if (Boolean.TRUE.equals(copy.getBidirectional())) {
+                    bidirectional.add(copy);
+                } else {
+                    unidirectional.add(copy);
+                }
+            }
+            byCategory.replaceAll((category, types) -> Collections.unmodifiableList(types));
+
+            return new Snapshot(
+                    version,
+                    Collections.unmodifiableList(all),
+                    Collections.unmodifiableMap(byId),
+                    Collections.unmodifiableMap(byName),
+                    Collections.unmodifiableMap(byCategory),
+                    Collections.unmodifiableList(bidirectional),
+                    Collections.unmodifiableList(unidirectional));
+        }
+    }
+}
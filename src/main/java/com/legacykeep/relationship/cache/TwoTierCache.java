@@ -0,0 +1,188 @@
+package com.legacykeep.relationship.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.support.SimpleValueWrapper;
+import org.springframework.data.redis.cache.RedisCache;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiConsumer;
+
+/**
+ * Spring cache backed by a bounded Caffeine cache in front of a shared Redis cache.
+ * Reads try the local tier first and copy Redis hits into it; writes go to both tiers.
+ * Evictions are applied to both tiers and announced through the invalidation callback
+ * so other instances drop their local copy. Redis failures are logged and treated as
+ * misses, so an outage only costs the database reads the cache would have saved.
+ * Null values are never stored.
+ */
+@Slf4j
+public class TwoTierCache implements org.springframework.cache.Cache {
+
+    private final String name;
+    private final Cache<String, Object> local;
+    private final RedisCache shared;
+    private final BiConsumer<String, String> invalidationPublisher;
+
+    private final LongAdder localHits = new LongAdder();
+    private final LongAdder sharedHits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder puts = new LongAdder();
+
+    public TwoTierCache(String name, Cache<String, Object> local, RedisCache shared,
+                        BiConsumer<String, String> invalidationPublisher) {
+        this.name = name;
+        this.local = local;
+        this.shared = shared;
+        this.invalidationPublisher = invalidationPublisher;
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return local;
+    }
+
+    @Override
+    public ValueWrapper get(Object key) {
+        String localKey = localKey(key);
+        Object value = local.getIfPresent(localKey);
+        if (value != null) {
+            localHits.increment();
+            return new SimpleValueWrapper(value);
+        }
+        value = getShared(key);
+        if (value != null) {
+            sharedHits.increment();
+            local.put(localKey, value);
+            return new SimpleValueWrapper(value);
+        }
+        misses.increment();
+        return null;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Class<T> type) {
+        ValueWrapper wrapper = get(key);
+        Object value = wrapper != null ? wrapper.get() : null;
+        if (value != null && type != null && !type.isInstance(value)) {
+            throw new IllegalStateException("Cached value is not of required type [" + type.getName() + "]: " + value);
+        }
+        return (T) value;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        ValueWrapper wrapper = get(key);
+        if (wrapper != null) {
+            return (T) wrapper.get();
+        }
+        T value;
+        try {
+            value = valueLoader.call();
+        } catch (Exception e) {
+            throw new ValueRetrievalException(key, valueLoader, e);
+        }
+        put(key, value);
+        return value;
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        if (value == null) {
+            return;
+        }
+        puts.increment();
+        local.put(localKey(key), value);
+        try {
+            shared.put(key, value);
+        } catch (RuntimeException e) {
+            log.warn("Failed to write {} entry {} to Redis: {}", name, key, e.getMessage());
+        }
+    }
+
+    @Override
+    public void evict(Object key) {
+        String localKey = localKey(key);
+        local.invalidate(localKey);
+        try {
+            shared.evict(key);
+        } catch (RuntimeException e) {
+            log.warn("Failed to evict {} entry {} from Redis: {}", name, key, e.getMessage());
+        }
+        invalidationPublisher.accept(name, localKey);
+    }
+
+    @Override
+    public void clear() {
+        local.invalidateAll();
+        try {
+            shared.clear();
+        } catch (RuntimeException e) {
+            log.warn("Failed to clear {} in Redis: {}", name, e.getMessage());
+        }
+        invalidationPublisher.accept(name, null);
+    }
+
+    /**
+     * Drop a key from the local tier only, on notice from another instance
+     */
+    void evictLocal(String localKey) {
+        local.invalidate(localKey);
+    }
+
+    /**
+     * Drop every entry from the local tier only, on notice from another instance
+     */
+    void clearLocal() {
+        local.invalidateAll();
+    }
+
+    long localHitCount() {
+        return localHits.sum();
+    }
+
+    long sharedHitCount() {
+        return sharedHits.sum();
+    }
+
+    long missCount() {
+        return misses.sum();
+    }
+
+    long putCount() {
+        return puts.sum();
+    }
+
+    /**
+     * Entries dropped from the local tier because it was full or the entry expired
+     */
+    long localEvictionCount() {
+        return local.stats().evictionCount();
+    }
+
+    long localSize() {
+        return local.estimatedSize();
+    }
+
+    private Object getShared(Object key) {
+        try {
+            ValueWrapper wrapper = shared.get(key);
+            return wrapper != null ? wrapper.get() : null;
+        } catch (RuntimeException e) {
+            log.warn("Failed to read {} entry {} from Redis: {}", name, key, e.getMessage());
+            return null;
+        }
+    }
+
+    private static String localKey(Object key) {
+        return String.valueOf(key);
+    }
+}
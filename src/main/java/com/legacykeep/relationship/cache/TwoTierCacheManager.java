@@ -0,0 +1,103 @@
+package com.legacykeep.relationship.cache;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.redis.cache.RedisCache;
+import org.springframework.data.redis.cache.RedisCacheManager;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+/**
+ * Cache manager for a fixed set of {@link TwoTierCache}s.
+ * Every instance publishes its evictions on a Redis channel and applies the evictions
+ * of other instances to its own local tier, so a write on one node is not served stale
+ * from another node's memory. In-memory structures outside the managed caches can
+ * register a handler under their own name to share the channel.
+ */
+@Slf4j
+public class TwoTierCacheManager implements CacheManager {
+
+    private final Map<String, TwoTierCache> caches = new LinkedHashMap<>();
+    private final StringRedisTemplate redisTemplate;
+    private final String invalidationChannel;
+    private final String instanceId = UUID.randomUUID().toString();
+    private final Map<String, Consumer<String>> invalidationHandlers = new ConcurrentHashMap<>();
+
+    public TwoTierCacheManager(Collection<String> cacheNames,
+                               Caffeine<Object, Object> localSpec,
+                               RedisCacheManager sharedCacheManager,
+                               StringRedisTemplate redisTemplate,
+                               String invalidationChannel) {
+        this.redisTemplate = redisTemplate;
+        this.invalidationChannel = invalidationChannel;
+        for (String name : cacheNames) {
+            caches.put(name, new TwoTierCache(name, localSpec.build(),
+                    (RedisCache) sharedCacheManager.getCache(name), this::publishInvalidation));
+        }
+    }
+
+    @Override
+    public Cache getCache(String name) {
+        return caches.get(name);
+    }
+
+    @Override
+    public Collection<String> getCacheNames() {
+        return Collections.unmodifiableSet(caches.keySet());
+    }
+
+    /**
+     * Run the handler whenever another instance announces an invalidation under the given
+     * name. The handler receives the announced key, or null when the whole name is invalidated.
+     */
+    public void addInvalidationHandler(String name, Consumer<String> handler) {
+        invalidationHandlers.put(name, handler);
+    }
+
+    /**
+     * Apply an eviction announced on the invalidation channel to the local tier
+     */
+    public void onInvalidation(String message) {
+        String[] parts = message.split("\n", 3);
+        if (parts.length < 2 || parts[0].equals(instanceId)) {
+            return;
+        }
+        TwoTierCache cache = caches.get(parts[1]);
+        if (cache == null) {
+            Consumer<String> handler = invalidationHandlers.get(parts[1]);
+            if (handler != null) {
+                handler.accept(parts.length == 3 ? parts[2] : null);
+            }
+            return;
+        }
+        if (parts.length == 3) {
+            cache.evictLocal(parts[2]);
+        } else {
+            cache.clearLocal();
+        }
+    }
+
+    /**
+     * Announce an eviction of one key, or of the whole cache when key is null
+     */
+    public void publishInvalidation(String cacheName, String key) {
+        String message = key != null
+                ? instanceId + "\n" + cacheName + "\n" + key
+                : instanceId + "\n" + cacheName;
+        try {
+            redisTemplate.convertAndSend(invalidationChannel, message);
+        } catch (RuntimeException e) {
+            // Other instances fall back to the local expiry
+            log.warn("Failed to publish cache invalidation for {}: {}", cacheName, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package com.legacykeep.relationship.cache;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.cache.CacheMeterBinder;
+
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Micrometer binder for {@link TwoTierCache}.
+ * Besides the standard cache.gets/puts/evictions/size meters it reports hits per tier
+ * and the hit ratio of the local tier, the Redis tier and the cache as a whole.
+ */
+public class TwoTierCacheMetrics extends CacheMeterBinder<TwoTierCache> {
+
+    public TwoTierCacheMetrics(TwoTierCache cache, Iterable<Tag> tags) {
+        super(cache, cache.getName(), tags);
+    }
+
+    @Override
+    protected Long size() {
+        TwoTierCache cache = getCache();
+        return cache != null ? cache.localSize() : null;
+    }
+
+    @Override
+    protected long hitCount() {
+        TwoTierCache cache = getCache();
+        return cache != null ? cache.localHitCount() + cache.sharedHitCount() : 0;
+    }
+
+    @Override
+    protected Long missCount() {
+        TwoTierCache cache = getCache();
+        return cache != null ? cache.missCount() : null;
+    }
+
+    @Override
+    protected Long evictionCount() {
+        TwoTierCache cache = getCache();
+        return cache != null ? cache.localEvictionCount() : null;
+    }
+
+    @Override
+    protected long putCount() {
+        TwoTierCache cache = getCache();
+        return cache != null ? cache.putCount() : 0;
+    }
+
+    @Override
+    protected void bindImplementationSpecificMetrics(MeterRegistry registry) {
+        TwoTierCache cache = getCache();
+        if (cache == null) {
+            return;
+        }
+        FunctionCounter.builder("cache.tier.hits", cache, TwoTierCache::localHitCount)
+                .tags(getTagsWithCacheName()).tag("tier", "l1")
+                .description("Hits served from the local Caffeine tier")
+                .register(registry);
+        FunctionCounter.builder("cache.tier.hits", cache, TwoTierCache::sharedHitCount)
+                .tags(getTagsWithCacheName()).tag("tier", "l2")
+                .description("Hits served from the shared Redis tier")
+                .register(registry);
+
+        hitRatio(registry, cache, "l1", c -> ratio(c.localHitCount(), c.localHitCount() + c.sharedHitCount() + c.missCount()));
+        hitRatio(registry, cache, "l2", c -> ratio(c.sharedHitCount(), c.sharedHitCount() + c.missCount()));
+        hitRatio(registry, cache, "all", c -> ratio(c.localHitCount() + c.sharedHitCount(),
+                c.localHitCount() + c.sharedHitCount() + c.missCount()));
+    }
+
+    private void hitRatio(MeterRegistry registry, TwoTierCache cache, String tier, ToDoubleFunction<TwoTierCache> ratio) {
+        Gauge.builder("cache.hit.ratio", cache, ratio)
+                .tags(Tags.concat(getTagsWithCacheName(), "tier", tier))
+                .description("Share of lookups answered by the tier; l2 counts only lookups that missed l1")
+                .register(registry);
+    }
+
+    private static double ratio(long hits, long lookups) {
+        return lookups == 0 ? 0.0 : (double) hits / lookups;
+    }
+}
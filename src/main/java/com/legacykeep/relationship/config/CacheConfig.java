@@ -0,0 +1,114 @@
+package com.legacykeep.relationship.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.legacykeep.relationship.cache.TwoTierCache;
+import com.legacykeep.relationship.cache.TwoTierCacheManager;
+import com.legacykeep.relationship.cache.TwoTierCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.metrics.cache.CacheMeterBinderProvider;
+import org.springframework.boot.autoconfigure.cache.CacheProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.cache.RedisCacheConfiguration;
+import org.springframework.data.redis.cache.RedisCacheManager;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Read cache configuration.
+ * Each cache keeps a bounded Caffeine tier per instance in front of the shared Redis
+ * tier configured by spring.cache.redis.*. Local entries expire sooner than Redis ones,
+ * which bounds staleness should an invalidation message be lost.
+ */
+@Configuration
+@EnableCaching
+@EnableConfigurationProperties(CacheProperties.class)
+public class CacheConfig {
+
+    /**
+     * First page of a user's unfiltered relationship listing, keyed by user ID
+     */
+    public static final String USER_RELATIONSHIPS = "userRelationships";
+
+    /**
+     * Relationship responses keyed by relationship ID
+     */
+    public static final String RELATIONSHIP_BY_ID = "relationshipById";
+
+    /**
+     * Relationship counts keyed by user ID
+     */
+    public static final String USER_RELATIONSHIP_COUNTS = "userRelationshipCounts";
+
+    /**
+     * Page size of the listing page that is cached; it matches the endpoint's default
+     */
+    public static final int USER_RELATIONSHIPS_PAGE_SIZE = 20;
+
+    @Bean
+    public TwoTierCacheManager cacheManager(RedisConnectionFactory connectionFactory,
+                                            StringRedisTemplate redisTemplate,
+                                            CacheProperties cacheProperties,
+                                            @Value("${relationship.cache.local.max-size:10000}") long localMaxSize,
+                                            @Value("${relationship.cache.local.expire-after-write-ms:60000}") long localExpireAfterWriteMillis,
+                                            @Value("${relationship.cache.invalidation-channel:relationship-cache-invalidations}") String invalidationChannel) {
+        RedisCacheConfiguration redisConfig = RedisCacheConfiguration.defaultCacheConfig();
+        CacheProperties.Redis redisProperties = cacheProperties.getRedis();
+        if (redisProperties.getTimeToLive() != null) {
+            redisConfig = redisConfig.entryTtl(redisProperties.getTimeToLive());
+        }
+        if (redisProperties.getKeyPrefix() != null) {
+            redisConfig = redisConfig.prefixCacheNameWith(redisProperties.getKeyPrefix());
+        }
+        if (!redisProperties.isCacheNullValues()) {
+            redisConfig = redisConfig.disableCachingNullValues();
+        }
+        if (!redisProperties.isUseKeyPrefix()) {
+            redisConfig = redisConfig.disableKeyPrefix();
+        }
+        RedisCacheManager sharedCacheManager = RedisCacheManager.builder(connectionFactory)
+                .cacheDefaults(redisConfig)
+                .build();
+        sharedCacheManager.initializeCaches();
+
+        Caffeine<Object, Object> localSpec = Caffeine.newBuilder()
+                .maximumSize(localMaxSize)
+                .expireAfterWrite(Duration.ofMillis(localExpireAfterWriteMillis))
+                .recordStats();
+
+        return new TwoTierCacheManager(List.of(USER_RELATIONSHIPS, RELATIONSHIP_BY_ID, USER_RELATIONSHIP_COUNTS),
+                localSpec, sharedCacheManager, redisTemplate, invalidationChannel);
+    }
+
+    /**
+     * Apply the evictions other instances publish to this instance's local tier
+     */
+    @Bean
+    public RedisMessageListenerContainer cacheInvalidationListenerContainer(
+            RedisConnectionFactory connectionFactory,
+            TwoTierCacheManager cacheManager,
+            @Value("${relationship.cache.invalidation-channel:relationship-cache-invalidations}") String invalidationChannel) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        container.addMessageListener(
+                (message, pattern) -> cacheManager.onInvalidation(new String(message.getBody(), StandardCharsets.UTF_8)),
+                new ChannelTopic(invalidationChannel));
+        return container;
+    }
+
+    /**
+     * Publish cache.gets/puts/evictions/size and per-tier hit ratios for every two-tier cache
+     */
+    @Bean
+    public CacheMeterBinderProvider<TwoTierCache> twoTierCacheMeterBinderProvider() {
+        return TwoTierCacheMetrics::new;
+    }
+}
@@ -0,0 +1,13 @@
+package com.legacykeep.relationship.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Enables @Scheduled background jobs such as the outbox relay. The scheduler pool has a
+ * thread per job (spring.task.scheduling.pool.size), so long nightly runs do not delay the relay.
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
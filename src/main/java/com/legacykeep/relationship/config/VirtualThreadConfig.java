@@ -0,0 +1,51 @@
+package com.legacykeep.relationship.config;
+
+import com.legacykeep.relationship.util.ConcurrencyLimitedDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Execution mode configuration.
+ * With spring.threads.virtual.enabled=true on Java 21, Spring Boot runs Tomcat request
+ * handling on virtual threads. Database access can then be bounded by a semaphore sized
+ * to the Hikari pool instead of by the request thread pool; the limit has its own switch,
+ * since the virtual thread property alone does not say the runtime supports them.
+ */
+@Configuration
+@Slf4j
+public class VirtualThreadConfig {
+
+    /**
+     * Wrap the Hikari pool so no more callers than it has connections wait inside it at once
+     */
+    @Bean
+    @ConditionalOnProperty(name = "relationship.db.concurrency-limit.enabled", havingValue = "true")
+    public static BeanPostProcessor concurrencyLimitedDataSourcePostProcessor(
+            @Value("${relationship.db.concurrency-limit.acquire-timeout-ms:30000}") long acquireTimeoutMillis,
+            ObjectProvider<MeterRegistry> meterRegistry) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!(bean instanceof HikariDataSource hikari)) {
+                    return bean;
+                }
+                int permits = hikari.getMaximumPoolSize();
+                ConcurrencyLimitedDataSource limited = new ConcurrencyLimitedDataSource(hikari, permits, acquireTimeoutMillis);
+                meterRegistry.ifAvailable(registry -> Gauge.builder("relationship.db.permit_waiters", limited,
+                                ConcurrencyLimitedDataSource::getQueueLength)
+                        .description("Callers waiting for a database connection permit")
+                        .register(registry));
+                log.info("Limiting database concurrency to {} connections", permits);
+                return limited;
+            }
+        };
+    }
+}
@@ -0,0 +1,76 @@
+package com.legacykeep.relationship.controller;
+
+import com.legacykeep.relationship.dto.ApiResponse;
+import com.legacykeep.relationship.dto.response.GedcomImportJobResponse;
+import com.legacykeep.relationship.exception.ResourceNotFoundException;
+import com.legacykeep.relationship.gedcom.GedcomImportJob;
+import com.legacykeep.relationship.gedcom.GedcomXrefMapping;
+import com.legacykeep.relationship.service.GedcomImportService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * REST Controller for importing relationships from GEDCOM files
+ */
+@RestController
+@RequestMapping("/v1/relationships/import/gedcom")
+@RequiredArgsConstructor
+@Slf4j
+public class GedcomImportController {
+
+    private final GedcomImportService gedcomImportService;
+
+    /**
+     * Upload a GEDCOM file with the user ID of each individual and start importing it in the
+     * background. The mapping part holds one xref,userId line per individual, e.g. @I12@,1042.
+     */
+    @PostMapping(consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<ApiResponse<GedcomImportJobResponse>> startImport(
+            @RequestParam("file") MultipartFile file,
+            @RequestParam("mapping") MultipartFile mapping) throws IOException {
+
+        log.debug("Starting GEDCOM import of {} ({} bytes) with xref mapping of {} bytes",
+                 file.getOriginalFilename(), file.getSize(), mapping.getSize());
+
+        if (file.isEmpty()) {
+            throw new IllegalArgumentException("GEDCOM file is empty");
+        }
+
+        GedcomXrefMapping xrefMapping;
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(mapping.getInputStream(), StandardCharsets.UTF_8))) {
+            xrefMapping = GedcomXrefMapping.read(reader);
+        }
+
+        GedcomImportJob job;
+        try (InputStream content = file.getInputStream()) {
+            job = gedcomImportService.startImport(content, xrefMapping);
+        }
+
+        return ResponseEntity.status(HttpStatus.ACCEPTED)
+                .body(ApiResponse.success(GedcomImportJobResponse.fromJob(job), "GEDCOM import started"));
+    }
+
+    /**
+     * Get the progress of a GEDCOM import
+     */
+    @GetMapping("/{jobId}")
+    public ResponseEntity<ApiResponse<GedcomImportJobResponse>> getImport(@PathVariable String jobId) {
+        log.debug("Getting GEDCOM import: {}", jobId);
+
+        GedcomImportJob job = gedcomImportService.getJob(jobId)
+                .orElseThrow(() -> new ResourceNotFoundException("GEDCOM import not found with ID: " + jobId));
+
+        return ResponseEntity.ok(ApiResponse.success(GedcomImportJobResponse.fromJob(job)));
+    }
+}
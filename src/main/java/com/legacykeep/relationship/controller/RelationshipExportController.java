@@ -0,0 +1,71 @@
+package com.legacykeep.relationship.controller;
+
+import com.legacykeep.relationship.dto.request.RelationshipExportRequest;
+import com.legacykeep.relationship.entity.UserRelationship;
+import com.legacykeep.relationship.service.RelationshipExportService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.time.LocalDate;
+
+/**
+ * REST Controller for streaming bulk exports of relationships
+ */
+@RestController
+@RequestMapping("/v1/relationships/export")
+@RequiredArgsConstructor
+@Slf4j
+public class RelationshipExportController {
+
+    private final RelationshipExportService relationshipExportService;
+
+    /**
+     * Stream relationships as NDJSON or CSV.
+     * At most one of status, relationshipTypeId, startDate/endDate or currentlyActive may be given.
+     */
+    @GetMapping
+    public ResponseEntity<StreamingResponseBody> exportRelationships(
+            @RequestParam(defaultValue = "ndjson") String format,
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) Long relationshipTypeId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            @RequestParam(defaultValue = "false") boolean currentlyActive) {
+
+        log.debug("Exporting relationships as {}, status: {}, relationshipTypeId: {}, startDate: {}, endDate: {}, currentlyActive: {}",
+                 format, status, relationshipTypeId, startDate, endDate, currentlyActive);
+
+        // Validate before streaming starts; once the body is being written errors can no longer become a 400
+        if ((startDate == null) != (endDate == null)) {
+            throw new IllegalArgumentException("startDate and endDate must be given together");
+        }
+        int filters = (status != null ? 1 : 0) + (relationshipTypeId != null ? 1 : 0)
+                + (startDate != null ? 1 : 0) + (currentlyActive ? 1 : 0);
+        if (filters > 1) {
+            throw new IllegalArgumentException("Only one of status, relationshipTypeId, date range or currentlyActive may be given");
+        }
+
+        RelationshipExportRequest request = RelationshipExportRequest.builder()
+                .format(RelationshipExportRequest.Format.fromParam(format))
+                .status(status != null ? UserRelationship.RelationshipStatus.valueOf(status.toUpperCase()) : null)
+                .relationshipTypeId(relationshipTypeId)
+                .startDate(startDate)
+                .endDate(endDate)
+                .currentlyActive(currentlyActive)
+                .build();
+
+        StreamingResponseBody body = out -> relationshipExportService.exportRelationships(request, out);
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(request.getFormat().getContentType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"relationships." + request.getFormat().getExtension() + "\"")
+                .body(body);
+    }
+}
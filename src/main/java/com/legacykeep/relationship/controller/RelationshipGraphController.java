@@ -0,0 +1,108 @@
+package com.legacykeep.relationship.controller;
+
+import com.legacykeep.relationship.dto.ApiResponse;
+import com.legacykeep.relationship.dto.response.CommonConnectionsResponse;
+import com.legacykeep.relationship.dto.response.FamilyTreeResponse;
+import com.legacykeep.relationship.dto.response.RelationshipPathResponse;
+import com.legacykeep.relationship.dto.response.RelationshipSuggestionsResponse;
+import com.legacykeep.relationship.entity.RelationshipType;
+import com.legacykeep.relationship.service.FamilyTreeService;
+import com.legacykeep.relationship.service.RelationshipGraphService;
+import com.legacykeep.relationship.service.RelationshipSuggestionService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * REST Controller for graph traversal queries over user relationships
+ */
+@RestController
+@RequestMapping("/v1/relationships")
+@RequiredArgsConstructor
+@Slf4j
+public class RelationshipGraphController {
+
+    private final RelationshipGraphService relationshipGraphService;
+    private final FamilyTreeService familyTreeService;
+    private final RelationshipSuggestionService relationshipSuggestionService;
+
+    /**
+     * Get the shortest chain of relationships connecting two users
+     */
+    @GetMapping("/path/{user1Id}/{user2Id}")
+    public ResponseEntity<ApiResponse<RelationshipPathResponse>> getRelationshipPath(
+            @PathVariable Long user1Id,
+            @PathVariable Long user2Id,
+            @RequestParam(required = false) List<String> categories,
+            @RequestParam(defaultValue = "false") boolean activeOnly,
+            @RequestParam(required = false) Integer maxDepth) {
+
+        log.debug("Getting relationship path between users: {} and {}, categories: {}, activeOnly: {}, maxDepth: {}",
+                 user1Id, user2Id, categories, activeOnly, maxDepth);
+
+        RelationshipPathResponse response = relationshipGraphService.findPath(
+                user1Id, user2Id, parseCategories(categories), activeOnly, maxDepth);
+
+        String message = response.isFound() ? "Relationship path found" : "No relationship path found";
+        return ResponseEntity.ok(ApiResponse.success(response, message));
+    }
+
+    /**
+     * Get the users related to both users, e.g. shared relatives
+     */
+    @GetMapping("/common/{user1Id}/{user2Id}")
+    public ResponseEntity<ApiResponse<CommonConnectionsResponse>> getCommonConnections(
+            @PathVariable Long user1Id,
+            @PathVariable Long user2Id,
+            @RequestParam(required = false) List<String> categories,
+            @RequestParam(defaultValue = "false") boolean activeOnly) {
+
+        log.debug("Getting common connections of users: {} and {}, categories: {}, activeOnly: {}",
+                 user1Id, user2Id, categories, activeOnly);
+
+        CommonConnectionsResponse response = relationshipGraphService.findCommonConnections(
+                user1Id, user2Id, parseCategories(categories), activeOnly);
+        return ResponseEntity.ok(ApiResponse.success(response, "Common connections retrieved successfully"));
+    }
+
+    /**
+     * Get the users a user is possibly related to but not yet linked with, best first.
+     * Suggestions are precomputed by a nightly job.
+     */
+    @GetMapping("/suggestions/{userId}")
+    public ResponseEntity<ApiResponse<RelationshipSuggestionsResponse>> getRelationshipSuggestions(
+            @PathVariable Long userId) {
+
+        log.debug("Getting relationship suggestions for user: {}", userId);
+
+        RelationshipSuggestionsResponse response = relationshipSuggestionService.getSuggestions(userId);
+        return ResponseEntity.ok(ApiResponse.success(response, "Relationship suggestions retrieved successfully"));
+    }
+
+    /**
+     * Get the ancestors and descendants of a user up to the given number of generations
+     */
+    @GetMapping("/family-tree/{userId}")
+    public ResponseEntity<ApiResponse<FamilyTreeResponse>> getFamilyTree(
+            @PathVariable Long userId,
+            @RequestParam(defaultValue = "3") int depth) {
+
+        log.debug("Getting family tree for user: {} with depth: {}", userId, depth);
+
+        FamilyTreeResponse response = familyTreeService.getFamilyTree(userId, depth);
+        return ResponseEntity.ok(ApiResponse.success(response, "Family tree retrieved successfully"));
+    }
+
+    private List<RelationshipType.RelationshipCategory> parseCategories(List<String> categories) {
+        if (categories == null) {
+            return List.of();
+        }
+        return categories.stream()
+                .map(category -> RelationshipType.RelationshipCategory.valueOf(category.toUpperCase()))
+                .collect(Collectors.toList());
+    }
+}
@@ -1,10 +1,20 @@
 package com.legacykeep.relationship.controller;
 
 import com.legacykeep.relationship.dto.ApiResponse;
+import com.legacykeep.relationship.dto.RelationshipChangeCursor;
+import com.legacykeep.relationship.dto.RelationshipCursor;
+import com.legacykeep.relationship.dto.request.BatchRelationshipExistsRequest;
+import com.legacykeep.relationship.dto.request.BulkCreateRelationshipRequest;
 import com.legacykeep.relationship.dto.request.CreateRelationshipRequest;
+import com.legacykeep.relationship.dto.request.RelationshipFilterRequest;
 import com.legacykeep.relationship.dto.request.UpdateRelationshipRequest;
+import com.legacykeep.relationship.dto.response.BatchRelationshipExistsResponse;
+import com.legacykeep.relationship.dto.response.BulkCreateRelationshipResponse;
 import com.legacykeep.relationship.dto.response.PaginatedRelationshipResponse;
+import com.legacykeep.relationship.dto.response.RelationshipChangesResponse;
 import com.legacykeep.relationship.dto.response.UserRelationshipResponse;
+import com.legacykeep.relationship.dto.response.UserRelationshipStatsResponse;
+import com.legacykeep.relationship.entity.RelationshipType;
 import com.legacykeep.relationship.entity.UserRelationship;
 import com.legacykeep.relationship.exception.ResourceNotFoundException;
 import com.legacykeep.relationship.service.UserRelationshipService;
@@ -14,6 +24,7 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -21,7 +32,6 @@ import org.springframework.web.bind.annotation.*;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
 
 /**
  * REST Controller for UserRelationship operations
@@ -35,7 +45,10 @@ public class UserRelationshipController {
     private final UserRelationshipService userRelationshipService;
 
     /**
-     * Get all relationships for a specific user
+     * Get all relationships for a specific user, optionally filtered by status, category,
+     * contextId and relationshipTypeId. Filters are applied in the database.
+     * Passing a cursor parameter (empty for the first page) switches to keyset pagination
+     * ordered by orderBy (id or createdAt); the response then carries nextCursor instead of totals.
      */
     @GetMapping("/user/{userId}")
     public ResponseEntity<ApiResponse<PaginatedRelationshipResponse>> getUserRelationships(
@@ -43,23 +56,38 @@ public class UserRelationshipController {
             @RequestParam(required = false) String status,
             @RequestParam(required = false) String category,
             @RequestParam(required = false) Long contextId,
+            @RequestParam(required = false) Long relationshipTypeId,
             @RequestParam(defaultValue = "0") int page,
-            @RequestParam(defaultValue = "20") int size) {
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "id") String orderBy) {
         
-        log.debug("Getting relationships for user: {} with filters - status: {}, category: {}, contextId: {}", 
-                 userId, status, category, contextId);
+        log.debug("Getting relationships for user: {} with filters - status: {}, category: {}, contextId: {}, relationshipTypeId: {}", 
+                 userId, status, category, contextId, relationshipTypeId);
         
-        Pageable pageable = PageRequest.of(page, size);
-        Page<UserRelationship> relationships;
+        RelationshipFilterRequest filter = RelationshipFilterRequest.builder()
+                .status(status != null ? UserRelationship.RelationshipStatus.valueOf(status.toUpperCase()) : null)
+                .category(category != null ? RelationshipType.RelationshipCategory.valueOf(category.toUpperCase()) : null)
+                .contextId(contextId)
+                .relationshipTypeId(relationshipTypeId)
+                .build();
         
-        if (status != null) {
-            relationships = userRelationshipService.getUserRelationshipsByStatus(
-                userId, UserRelationship.RelationshipStatus.valueOf(status.toUpperCase()), pageable);
-        } else {
-            relationships = userRelationshipService.getUserRelationships(userId, pageable);
+        if (cursor != null) {
+            RelationshipCursor.SortKey sortKey = RelationshipCursor.SortKey.fromParam(orderBy);
+            Slice<UserRelationshipResponse> slice = userRelationshipService.getUserRelationshipResponsesAfter(
+                    userId, filter, RelationshipCursor.decode(cursor, sortKey), size);
+            String nextCursor = slice.hasNext()
+                    ? RelationshipCursor.after(slice.getContent().get(slice.getNumberOfElements() - 1), sortKey).encode()
+                    : null;
+            PaginatedRelationshipResponse response = PaginatedRelationshipResponse.fromResponseSlice(slice, nextCursor);
+            return ResponseEntity.ok(ApiResponse.success(response, "User relationships retrieved successfully"));
         }
         
-        PaginatedRelationshipResponse response = PaginatedRelationshipResponse.fromPage(relationships);
+        Pageable pageable = PageRequest.of(page, size);
+        Page<UserRelationshipResponse> relationships =
+                userRelationshipService.getUserRelationshipResponses(userId, filter, pageable);
+        
+        PaginatedRelationshipResponse response = PaginatedRelationshipResponse.fromResponsePage(relationships);
         return ResponseEntity.ok(ApiResponse.success(response, "User relationships retrieved successfully"));
     }
 
@@ -74,16 +102,8 @@ public class UserRelationshipController {
         
         log.debug("Getting relationships between users: {} and {}, activeOnly: {}", user1Id, user2Id, activeOnly);
         
-        List<UserRelationship> relationships;
-        if (activeOnly) {
-            relationships = userRelationshipService.getActiveRelationshipsBetweenUsers(user1Id, user2Id);
-        } else {
-            relationships = userRelationshipService.getRelationshipsBetweenUsers(user1Id, user2Id);
-        }
-        
-        List<UserRelationshipResponse> responses = relationships.stream()
-                .map(UserRelationshipResponse::fromEntity)
-                .collect(Collectors.toList());
+        List<UserRelationshipResponse> responses =
+                userRelationshipService.getRelationshipResponsesBetweenUsers(user1Id, user2Id, activeOnly);
         
         return ResponseEntity.ok(ApiResponse.success(responses, "Relationships between users retrieved successfully"));
     }
@@ -95,10 +115,9 @@ public class UserRelationshipController {
     public ResponseEntity<ApiResponse<UserRelationshipResponse>> getRelationshipById(@PathVariable Long id) {
         log.debug("Getting relationship by ID: {}", id);
         
-        UserRelationship relationship = userRelationshipService.getRelationshipById(id)
+        UserRelationshipResponse response = userRelationshipService.getRelationshipResponseById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Relationship not found with ID: " + id));
         
-        UserRelationshipResponse response = UserRelationshipResponse.fromEntity(relationship);
         return ResponseEntity.ok(ApiResponse.success(response, "Relationship retrieved successfully"));
     }
 
@@ -118,6 +137,20 @@ public class UserRelationshipController {
                 .body(ApiResponse.success(response, "Relationship created successfully"));
     }
 
+    /**
+     * Create many relationships in one request, with a result per item
+     */
+    @PostMapping("/bulk")
+    public ResponseEntity<ApiResponse<BulkCreateRelationshipResponse>> createRelationships(
+            @Valid @RequestBody BulkCreateRelationshipRequest request) {
+        
+        log.debug("Bulk creating {} relationships", request.getRelationships().size());
+        
+        BulkCreateRelationshipResponse response = userRelationshipService.createRelationships(request.getRelationships());
+        
+        return ResponseEntity.ok(ApiResponse.success(response, "Bulk relationship creation completed"));
+    }
+
     /**
      * Update an existing relationship
      */
@@ -150,20 +183,31 @@ public class UserRelationshipController {
      * Get relationship statistics for a user
      */
     @GetMapping("/user/{userId}/stats")
-    public ResponseEntity<ApiResponse<Object>> getUserRelationshipStats(@PathVariable Long userId) {
+    public ResponseEntity<ApiResponse<UserRelationshipStatsResponse>> getUserRelationshipStats(@PathVariable Long userId) {
         log.debug("Getting relationship statistics for user: {}", userId);
         
-        long totalRelationships = userRelationshipService.countUserRelationships(userId);
-        long activeRelationships = userRelationshipService.countActiveUserRelationships(userId);
-        
-        Map<String, Object> stats = new HashMap<>();
-        stats.put("totalRelationships", totalRelationships);
-        stats.put("activeRelationships", activeRelationships);
-        stats.put("endedRelationships", totalRelationships - activeRelationships);
+        UserRelationshipStatsResponse stats = userRelationshipService.getUserRelationshipStats(userId);
         
         return ResponseEntity.ok(ApiResponse.success(stats, "User relationship statistics retrieved successfully"));
     }
 
+    /**
+     * Get a user's relationship changes since a cursor, with tombstones for deleted relationships.
+     * Call without since to get a starting cursor, then load the listing and poll with it.
+     */
+    @GetMapping("/user/{userId}/changes")
+    public ResponseEntity<ApiResponse<RelationshipChangesResponse>> getUserRelationshipChanges(
+            @PathVariable Long userId,
+            @RequestParam(required = false) String since,
+            @RequestParam(defaultValue = "100") int limit) {
+        log.debug("Getting relationship changes for user: {} since: {}", userId, since);
+        
+        RelationshipChangesResponse changes = userRelationshipService.getUserRelationshipChanges(
+                userId, RelationshipChangeCursor.decode(since), limit);
+        
+        return ResponseEntity.ok(ApiResponse.success(changes, "User relationship changes retrieved successfully"));
+    }
+
     /**
      * Check if relationship exists between users
      */
@@ -187,4 +231,30 @@ public class UserRelationshipController {
         
         return ResponseEntity.ok(ApiResponse.success(result, "Relationship existence check completed"));
     }
+
+    /**
+     * Check many user pairs for relationships in one request; answers are in request order
+     */
+    @PostMapping("/exists/batch")
+    public ResponseEntity<ApiResponse<BatchRelationshipExistsResponse>> checkRelationshipsExist(
+            @Valid @RequestBody BatchRelationshipExistsRequest request) {
+        
+        log.debug("Checking {} user pairs for relationships, activeOnly: {}", request.getPairs().size(), request.isActiveOnly());
+        
+        boolean[] exists = userRelationshipService.relationshipsExistBetweenUsers(request.getPairs(), request.isActiveOnly());
+        int existing = 0;
+        for (boolean value : exists) {
+            if (value) {
+                existing++;
+            }
+        }
+        
+        BatchRelationshipExistsResponse response = BatchRelationshipExistsResponse.builder()
+                .requested(exists.length)
+                .existing(existing)
+                .exists(exists)
+                .build();
+        
+        return ResponseEntity.ok(ApiResponse.success(response, "Relationship existence check completed"));
+    }
 }
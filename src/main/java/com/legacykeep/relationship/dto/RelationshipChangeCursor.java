@@ -0,0 +1,57 @@
+package com.legacykeep.relationship.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Base64;
+
+/**
+ * Opaque cursor into a user's relationship change feed.
+ * Holds the (txid, id) position of the last change delivered and when the cursor was
+ * issued, so a cursor older than the change log retention can be refused.
+ */
+@Getter
+@AllArgsConstructor
+public class RelationshipChangeCursor {
+
+    private final long txid;
+    private final long changeId;
+    private final Instant issuedAt;
+
+    /**
+     * Cursor past every change final at the given horizon, so only later changes are returned
+     */
+    public static RelationshipChangeCursor atHorizon(long horizon, Instant issuedAt) {
+        return new RelationshipChangeCursor(horizon - 1, Long.MAX_VALUE, issuedAt);
+    }
+
+    /**
+     * Encode the cursor as an opaque URL-safe token
+     */
+    public String encode() {
+        String raw = "x:" + txid + ":" + changeId + ":" + issuedAt.getEpochSecond();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decode a token produced by {@link #encode()}. A blank token yields null.
+     */
+    public static RelationshipChangeCursor decode(String token) {
+        if (token == null || token.isBlank()) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] parts = raw.split(":");
+            if (parts.length == 4 && parts[0].equals("x")) {
+                return new RelationshipChangeCursor(Long.parseLong(parts[1]), Long.parseLong(parts[2]),
+                        Instant.ofEpochSecond(Long.parseLong(parts[3])));
+            }
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid cursor", e);
+        }
+        throw new IllegalArgumentException("Invalid cursor");
+    }
+}
@@ -0,0 +1,105 @@
+package com.legacykeep.relationship.dto;
+
+import com.legacykeep.relationship.dto.response.UserRelationshipResponse;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.nio.charset.StandardCharsets;
+import java.time.DateTimeException;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Base64;
+
+/**
+ * Opaque keyset cursor for relationship listings.
+ * Encodes the sort key of the last row returned, so the next page can seek
+ * directly past it instead of skipping rows with OFFSET.
+ */
+@Getter
+@AllArgsConstructor
+public class RelationshipCursor {
+
+    private final SortKey sortKey;
+    private final LocalDateTime createdAt;
+    private final Long id;
+
+    /**
+     * Keys a cursor can be ordered by
+     */
+    public enum SortKey {
+        ID,
+        CREATED_AT;
+
+        /**
+         * Resolve a sort key from a request parameter value
+         */
+        public static SortKey fromParam(String value) {
+            if (value == null || value.equalsIgnoreCase("id")) {
+                return ID;
+            }
+            if (value.equalsIgnoreCase("createdAt")) {
+                return CREATED_AT;
+            }
+            throw new IllegalArgumentException("Unsupported orderBy value: " + value + " (expected id or createdAt)");
+        }
+    }
+
+    /**
+     * Cursor positioned before the first row
+     */
+    public static RelationshipCursor first(SortKey sortKey) {
+        return new RelationshipCursor(sortKey, null, null);
+    }
+
+    /**
+     * Cursor positioned just after the given response row
+     */
+    public static RelationshipCursor after(UserRelationshipResponse last, SortKey sortKey) {
+        return new RelationshipCursor(sortKey, sortKey == SortKey.CREATED_AT ? last.getCreatedAt() : null, last.getId());
+    }
+
+    /**
+     * Check if this cursor points at the start of the listing
+     */
+    public boolean isFirst() {
+        return id == null;
+    }
+
+    /**
+     * Encode the cursor as an opaque URL-safe token
+     */
+    public String encode() {
+        String raw;
+        if (sortKey == SortKey.CREATED_AT) {
+            raw = "c:" + createdAt.toEpochSecond(ZoneOffset.UTC) + "." + createdAt.getNano() + ":" + id;
+        } else {
+            raw = "i:" + id;
+        }
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decode a token produced by {@link #encode()}. A blank token starts from the first row.
+     */
+    public static RelationshipCursor decode(String token, SortKey sortKey) {
+        if (token == null || token.isBlank()) {
+            return first(sortKey);
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] parts = raw.split(":");
+            if (sortKey == SortKey.ID && parts.length == 2 && parts[0].equals("i")) {
+                return new RelationshipCursor(sortKey, null, Long.parseLong(parts[1]));
+            }
+            if (sortKey == SortKey.CREATED_AT && parts.length == 3 && parts[0].equals("c")) {
+                String[] instant = parts[1].split("\\.");
+                LocalDateTime createdAt = LocalDateTime.ofEpochSecond(
+                        Long.parseLong(instant[0]), Integer.parseInt(instant[1]), ZoneOffset.UTC);
+                return new RelationshipCursor(sortKey, createdAt, Long.parseLong(parts[2]));
+            }
+        } catch (IllegalArgumentException | ArrayIndexOutOfBoundsException | DateTimeException e) {
+            throw new IllegalArgumentException("Invalid cursor", e);
+        }
+        throw new IllegalArgumentException("Invalid cursor");
+    }
+}
@@ -0,0 +1,47 @@
+package com.legacykeep.relationship.dto;
+
+import com.legacykeep.relationship.entity.RelationshipType;
+import com.legacykeep.relationship.entity.UserRelationship;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Read-only projection of a user_relationships row, selected with a JPQL constructor
+ * expression. Nothing is registered in the persistence context and the type is carried
+ * as its foreign key only, to be resolved from the type registry.
+ */
+public record RelationshipRow(
+        Long id,
+        Long user1Id,
+        Long user2Id,
+        Long relationshipTypeId,
+        Long contextId,
+        LocalDate startDate,
+        LocalDate endDate,
+        UserRelationship.RelationshipStatus status,
+        String metadata,
+        LocalDateTime createdAt,
+        LocalDateTime updatedAt) {
+
+    /**
+     * Rebuild a detached relationship from this row, e.g. one returned by a write statement
+     */
+    public UserRelationship toDetachedEntity(RelationshipType type) {
+        return UserRelationship.builder()
+                .id(id)
+                .user1Id(user1Id)
+                .user2Id(user2Id)
+                .userLowId(Math.min(user1Id, user2Id))
+                .userHighId(Math.max(user1Id, user2Id))
+                .relationshipType(type)
+                .contextId(contextId)
+                .startDate(startDate)
+                .endDate(endDate)
+                .status(status)
+                .metadata(metadata)
+                .createdAt(createdAt)
+                .updatedAt(updatedAt)
+                .build();
+    }
+}
@@ -0,0 +1,46 @@
+package com.legacykeep.relationship.dto.request;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Request DTO for checking many user pairs for relationships in one call
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchRelationshipExistsRequest {
+
+    @NotEmpty(message = "At least one pair is required")
+    @Valid
+    private List<Pair> pairs;
+
+    private boolean activeOnly;
+
+    /**
+     * Two users to check; order does not matter
+     */
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Pair {
+
+        @NotNull(message = "User1 ID is required")
+        @Positive(message = "User1 ID must be positive")
+        private Long user1Id;
+
+        @NotNull(message = "User2 ID is required")
+        @Positive(message = "User2 ID must be positive")
+        private Long user2Id;
+    }
+}
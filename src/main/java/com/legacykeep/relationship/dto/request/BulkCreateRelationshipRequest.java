@@ -0,0 +1,24 @@
+package com.legacykeep.relationship.dto.request;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Request DTO for creating many relationships in one call
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkCreateRelationshipRequest {
+
+    @NotEmpty(message = "At least one relationship is required")
+    @Valid
+    private List<CreateRelationshipRequest> relationships;
+}
@@ -0,0 +1,69 @@
+package com.legacykeep.relationship.dto.request;
+
+import com.legacykeep.relationship.entity.UserRelationship;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+/**
+ * Request DTO describing which relationships to export and in what format.
+ * At most one filter may be set; with none, every relationship is exported.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RelationshipExportRequest {
+
+    /**
+     * Output formats supported by the export
+     */
+    public enum Format {
+        NDJSON("application/x-ndjson", "ndjson"),
+        CSV("text/csv", "csv");
+
+        private final String contentType;
+        private final String extension;
+
+        Format(String contentType, String extension) {
+            this.contentType = contentType;
+            this.extension = extension;
+        }
+
+        public String getContentType() {
+            return contentType;
+        }
+
+        public String getExtension() {
+            return extension;
+        }
+
+        /**
+         * Parse a format request parameter (case-insensitive)
+         */
+        public static Format fromParam(String value) {
+            for (Format format : values()) {
+                if (format.name().equalsIgnoreCase(value)) {
+                    return format;
+                }
+            }
+            throw new IllegalArgumentException("Invalid export format: " + value + ". Must be one of: ndjson, csv");
+        }
+    }
+
+    @Builder.Default
+    private Format format = Format.NDJSON;
+
+    private UserRelationship.RelationshipStatus status;
+
+    private Long relationshipTypeId;
+
+    private LocalDate startDate;
+
+    private LocalDate endDate;
+
+    private boolean currentlyActive;
+}
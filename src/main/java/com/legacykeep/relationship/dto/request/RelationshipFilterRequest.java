@@ -0,0 +1,34 @@
+package com.legacykeep.relationship.dto.request;
+
+import com.legacykeep.relationship.entity.RelationshipType;
+import com.legacykeep.relationship.entity.UserRelationship;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Request DTO with the optional filters for listing a user's relationships.
+ * Filters that are set are combined with AND; with none, every relationship is listed.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RelationshipFilterRequest {
+
+    private UserRelationship.RelationshipStatus status;
+
+    private RelationshipType.RelationshipCategory category;
+
+    private Long contextId;
+
+    private Long relationshipTypeId;
+
+    /**
+     * Check whether no filter is set
+     */
+    public boolean isEmpty() {
+        return status == null && category == null && contextId == null && relationshipTypeId == null;
+    }
+}
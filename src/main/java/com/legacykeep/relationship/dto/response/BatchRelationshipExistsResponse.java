@@ -0,0 +1,20 @@
+package com.legacykeep.relationship.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Response DTO for a batch existence check; exists[i] answers the i-th requested pair
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchRelationshipExistsResponse {
+
+    private int requested;
+    private int existing;
+    private boolean[] exists;
+}
@@ -0,0 +1,46 @@
+package com.legacykeep.relationship.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Response DTO for bulk relationship creation, with one result per requested item in request order
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkCreateRelationshipResponse {
+
+    private int requested;
+    private int created;
+    private int failed;
+    private List<ItemResult> results;
+
+    /**
+     * Outcome of a single requested relationship
+     */
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class ItemResult {
+        private int index;
+        private String status;
+        private Long relationshipId;
+        private String error;
+    }
+
+    /**
+     * Possible item outcomes
+     */
+    public enum ItemStatus {
+        CREATED,
+        DUPLICATE,
+        INVALID
+    }
+}
@@ -0,0 +1,23 @@
+package com.legacykeep.relationship.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Response DTO for the users related to both of two users
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CommonConnectionsResponse {
+
+    private Long user1Id;
+    private Long user2Id;
+    private int count;
+    private List<Long> userIds;
+}
@@ -0,0 +1,49 @@
+package com.legacykeep.relationship.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Response DTO for a family tree around a user, as a flat list of nodes and parent/child edges
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class FamilyTreeResponse {
+
+    private Long rootUserId;
+    private int depth;
+    private List<Node> nodes;
+    private List<Edge> edges;
+
+    /**
+     * A user in the tree; generation is positive for ancestors, negative for descendants and 0 for the root
+     */
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Node {
+        private Long userId;
+        private int generation;
+    }
+
+    /**
+     * A parent/child link between two users in the tree
+     */
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Edge {
+        private Long relationshipId;
+        private Long parentUserId;
+        private Long childUserId;
+        private Long relationshipTypeId;
+    }
+}
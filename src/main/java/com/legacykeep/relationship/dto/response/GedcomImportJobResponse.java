@@ -0,0 +1,68 @@
+package com.legacykeep.relationship.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.legacykeep.relationship.gedcom.GedcomImportJob;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Response DTO for GEDCOM import progress
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class GedcomImportJobResponse {
+
+    private String jobId;
+    private String status;
+    private long fileSizeBytes;
+    private long bytesRead;
+    private double percentComplete;
+    private long individualsParsed;
+    private long familiesParsed;
+    private long relationshipsSubmitted;
+    private long relationshipsCreated;
+    private long duplicates;
+    private long invalid;
+    private long batchesWritten;
+    private String error;
+
+    @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss'Z'")
+    private LocalDateTime submittedAt;
+
+    @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss'Z'")
+    private LocalDateTime finishedAt;
+
+    /**
+     * Convert job state to response DTO
+     */
+    public static GedcomImportJobResponse fromJob(GedcomImportJob job) {
+        long bytesRead = job.getBytesRead().get();
+        double percent = job.getFileSizeBytes() > 0
+                ? Math.min(100.0, 100.0 * bytesRead / job.getFileSizeBytes())
+                : 100.0;
+
+        return GedcomImportJobResponse.builder()
+                .jobId(job.getId())
+                .status(job.getStatus().name())
+                .fileSizeBytes(job.getFileSizeBytes())
+                .bytesRead(bytesRead)
+                .percentComplete(Math.round(percent * 10) / 10.0)
+                .individualsParsed(job.getIndividualsParsed().get())
+                .familiesParsed(job.getFamiliesParsed().get())
+                .relationshipsSubmitted(job.getRelationshipsSubmitted().get())
+                .relationshipsCreated(job.getRelationshipsCreated().get())
+                .duplicates(job.getDuplicates().get())
+                .invalid(job.getInvalid().get())
+                .batchesWritten(job.getBatchesWritten().get())
+                .error(job.getError())
+                .submittedAt(job.getSubmittedAt())
+                .finishedAt(job.getFinishedAt())
+                .build();
+    }
+}
@@ -1,10 +1,12 @@
 package com.legacykeep.relationship.dto.response;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
 
 import java.util.List;
 import java.util.stream.Collectors;
@@ -25,11 +27,14 @@ public class PaginatedRelationshipResponse {
     @Builder
     @NoArgsConstructor
     @AllArgsConstructor
+    @JsonInclude(JsonInclude.Include.NON_NULL)
     public static class PaginationInfo {
-        private int page;
+        private Integer page;
         private int size;
-        private long totalElements;
-        private int totalPages;
+        private Long totalElements;
+        private Integer totalPages;
+        private Boolean hasNext;
+        private String nextCursor;
     }
 
     /**
@@ -53,4 +58,37 @@ public class PaginatedRelationshipResponse {
                 .pagination(pagination)
                 .build();
     }
+
+    /**
+     * Wrap a page of already mapped responses
+     */
+    public static PaginatedRelationshipResponse fromResponsePage(Page<UserRelationshipResponse> page) {
+        PaginationInfo pagination = PaginationInfo.builder()
+                .page(page.getNumber())
+                .size(page.getSize())
+                .totalElements(page.getTotalElements())
+                .totalPages(page.getTotalPages())
+                .build();
+
+        return PaginatedRelationshipResponse.builder()
+                .relationships(page.getContent())
+                .pagination(pagination)
+                .build();
+    }
+
+    /**
+     * Wrap a keyset slice of already mapped responses
+     */
+    public static PaginatedRelationshipResponse fromResponseSlice(Slice<UserRelationshipResponse> slice, String nextCursor) {
+        PaginationInfo pagination = PaginationInfo.builder()
+                .size(slice.getSize())
+                .hasNext(slice.hasNext())
+                .nextCursor(nextCursor)
+                .build();
+
+        return PaginatedRelationshipResponse.builder()
+                .relationships(slice.getContent())
+                .pagination(pagination)
+                .build();
+    }
 }
@@ -0,0 +1,40 @@
+package com.legacykeep.relationship.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Response DTO for a page of a user's relationship change feed.
+ * Each relationship appears at most once, with its current state or as a tombstone
+ * when it has been deleted. Pass nextCursor as since to continue; when hasMore is
+ * false the client is up to date. When fullResyncRequired is true the cursor was too
+ * old: reload the full listing and continue from nextCursor.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RelationshipChangesResponse {
+
+    private Long userId;
+    private List<Change> changes;
+    private String nextCursor;
+    private boolean hasMore;
+    private boolean fullResyncRequired;
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public static class Change {
+        private Long relationshipId;
+        private boolean deleted;
+        private UserRelationshipResponse relationship;
+    }
+}
@@ -0,0 +1,45 @@
+package com.legacykeep.relationship.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Response DTO for the shortest relationship chain between two users
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RelationshipPathResponse {
+
+    private Long user1Id;
+    private Long user2Id;
+    private boolean found;
+    private String outcome;
+    private Integer degreesOfSeparation;
+    private List<Long> users;
+    private List<PathStep> steps;
+    private int visitedUsers;
+
+    /**
+     * One relationship on the path, traversed from fromUserId to toUserId
+     */
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class PathStep {
+        private Long fromUserId;
+        private Long toUserId;
+        private Long relationshipId;
+        private Long relationshipTypeId;
+        private String relationshipTypeName;
+        private String category;
+        private String status;
+        private boolean fromUser1;
+    }
+}
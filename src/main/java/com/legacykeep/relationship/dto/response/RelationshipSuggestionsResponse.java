@@ -0,0 +1,37 @@
+package com.legacykeep.relationship.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Response DTO for the users a user is possibly related to but not yet linked with
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RelationshipSuggestionsResponse {
+
+    private Long userId;
+    private LocalDateTime computedAt;
+    private List<Suggestion> suggestions;
+
+    /**
+     * One suggested user, with what they probably are to the user and how many
+     * relationship paths imply it
+     */
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Suggestion {
+        private Long suggestedUserId;
+        private String kind;
+        private int support;
+    }
+}
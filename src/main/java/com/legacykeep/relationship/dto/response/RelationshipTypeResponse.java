@@ -7,6 +7,7 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.io.Serializable;
 import java.time.LocalDateTime;
 
 /**
@@ -16,7 +17,7 @@ import java.time.LocalDateTime;
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
-public class RelationshipTypeResponse {
+public class RelationshipTypeResponse implements Serializable {
 
     private Long id;
     private String name;
@@ -44,10 +45,18 @@ public class RelationshipTypeResponse {
                 .name(entity.getName())
                 .category(entity.getCategory() != null ? entity.getCategory().name() : null)
                 .bidirectional(entity.getBidirectional())
-                .reverseTypeId(entity.getReverseType() != null ? entity.getReverseType().getId() : null)
+                .reverseTypeId(reverseTypeId(entity))
                 .metadata(entity.getMetadata())
                 .createdAt(entity.getCreatedAt())
                 .updatedAt(entity.getUpdatedAt())
                 .build();
     }
+
+    private static Long reverseTypeId(RelationshipType entity) {
+        if (entity.getReverseTypeId() != null) {
+            return entity.getReverseTypeId();
+        }
+        // Entities saved in this session have no column value yet; the association is already in memory
+        return entity.getReverseType() != null ? entity.getReverseType().getId() : null;
+    }
 }
@@ -1,12 +1,15 @@
 package com.legacykeep.relationship.dto.response;
 
 import com.fasterxml.jackson.annotation.JsonFormat;
+import com.legacykeep.relationship.dto.RelationshipRow;
+import com.legacykeep.relationship.entity.RelationshipType;
 import com.legacykeep.relationship.entity.UserRelationship;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.io.Serializable;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 
@@ -17,7 +20,7 @@ import java.time.LocalDateTime;
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
-public class UserRelationshipResponse {
+public class UserRelationshipResponse implements Serializable {
 
     private Long id;
     private Long user1Id;
@@ -62,4 +65,23 @@ public class UserRelationshipResponse {
                 .updatedAt(entity.getUpdatedAt())
                 .build();
     }
+
+    /**
+     * Convert a projected row to response DTO, with its type resolved by the caller
+     */
+    public static UserRelationshipResponse fromRow(RelationshipRow row, RelationshipType type) {
+        return UserRelationshipResponse.builder()
+                .id(row.id())
+                .user1Id(row.user1Id())
+                .user2Id(row.user2Id())
+                .relationshipType(RelationshipTypeResponse.fromEntity(type))
+                .contextId(row.contextId())
+                .startDate(row.startDate())
+                .endDate(row.endDate())
+                .status(row.status() != null ? row.status().name() : null)
+                .metadata(row.metadata())
+                .createdAt(row.createdAt())
+                .updatedAt(row.updatedAt())
+                .build();
+    }
 }
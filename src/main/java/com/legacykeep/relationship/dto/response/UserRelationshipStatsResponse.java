@@ -0,0 +1,26 @@
+package com.legacykeep.relationship.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+/**
+ * Response DTO for a user's relationship counts.
+ * byStatus and byCategory always contain every status and category, with zero for absent ones.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserRelationshipStatsResponse {
+
+    private Long userId;
+    private long totalRelationships;
+    private long activeRelationships;
+    private long endedRelationships;
+    private Map<String, Long> byStatus;
+    private Map<String, Long> byCategory;
+}
@@ -0,0 +1,62 @@
+package com.legacykeep.relationship.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDateTime;
+
+/**
+ * Entity representing one change to a relationship as seen by one of its users.
+ * Rows are written in the changing transaction and stamped by the database with that
+ * transaction's ID. The change feed only returns rows whose transaction ID is below
+ * the oldest transaction still running, so a reader can never skip a change that
+ * commits late; (txid, id) then orders the feed.
+ */
+@Entity
+@Table(name = "relationship_changes",
+       indexes = {
+               @Index(name = "idx_relationship_changes_user_txid", columnList = "user_id, txid, id"),
+               @Index(name = "idx_relationship_changes_changed_at", columnList = "changed_at")
+       })
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RelationshipChange {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "relationship_changes_seq")
+    @SequenceGenerator(name = "relationship_changes_seq", sequenceName = "relationship_changes_id_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "relationship_id", nullable = false)
+    private Long relationshipId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "change_type", nullable = false, length = 20)
+    private ChangeType changeType;
+
+    @Column(name = "txid", insertable = false, updatable = false,
+            columnDefinition = "bigint NOT NULL DEFAULT CAST(CAST(pg_current_xact_id() AS text) AS bigint)")
+    private Long txid;
+
+    @CreationTimestamp
+    @Column(name = "changed_at", nullable = false, updatable = false)
+    private LocalDateTime changedAt;
+
+    /**
+     * Enum for the kind of change
+     */
+    public enum ChangeType {
+        CREATED,
+        UPDATED,
+        DELETED
+    }
+}
@@ -0,0 +1,53 @@
+package com.legacykeep.relationship.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
+
+/**
+ * Entity representing one endpoint of a user relationship.
+ * Every relationship has two edges, one per user, so per-user lookups become a
+ * single range scan on the (user_id, relationship_id) primary key instead of an
+ * OR over user1_id and user2_id. Edges are removed by the database when their
+ * relationship is deleted.
+ */
+@Entity
+@Table(name = "user_relationship_edges",
+       indexes = @Index(name = "idx_user_relationship_edges_relationship_id", columnList = "relationship_id"))
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RelationshipEdge {
+
+    @EmbeddedId
+    private RelationshipEdgeId id;
+
+    @MapsId("relationshipId")
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "relationship_id")
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private UserRelationship relationship;
+
+    @Column(name = "other_user_id", nullable = false)
+    private Long otherUserId;
+
+    /**
+     * Create the edge seen from the given endpoint of a relationship
+     */
+    public static RelationshipEdge of(UserRelationship relationship, Long userId, Long otherUserId) {
+        return RelationshipEdge.builder()
+                .id(new RelationshipEdgeId(userId, relationship.getId()))
+                .relationship(relationship)
+                .otherUserId(otherUserId)
+                .build();
+    }
+}
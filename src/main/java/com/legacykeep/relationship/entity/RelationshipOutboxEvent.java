@@ -0,0 +1,63 @@
+package com.legacykeep.relationship.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+import java.time.LocalDateTime;
+
+/**
+ * Entity representing a relationship change waiting to be published.
+ * Rows are written in the same transaction as the change itself and removed by the
+ * outbox relay once the broker has acknowledged them, so an event is published if and
+ * only if its change committed. Ids come from the sequence one at a time rather than
+ * in per-instance blocks, so they follow commit order for each relationship across instances.
+ */
+@Entity
+@Table(name = "relationship_outbox")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RelationshipOutboxEvent {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "relationship_outbox_seq")
+    @SequenceGenerator(name = "relationship_outbox_seq", sequenceName = "relationship_outbox_id_seq", allocationSize = 1)
+    private Long id;
+
+    @Column(name = "relationship_id", nullable = false)
+    private Long relationshipId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "event_type", nullable = false, length = 20)
+    private EventType eventType;
+
+    @Column(name = "user1_id", nullable = false)
+    private Long user1Id;
+
+    @Column(name = "user2_id", nullable = false)
+    private Long user2Id;
+
+    @Column(name = "payload", nullable = false, columnDefinition = "jsonb")
+    @JdbcTypeCode(SqlTypes.JSON)
+    private String payload;
+
+    @CreationTimestamp
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    /**
+     * Enum for the kind of change
+     */
+    public enum EventType {
+        CREATED,
+        UPDATED,
+        DELETED
+    }
+}
@@ -0,0 +1,58 @@
+package com.legacykeep.relationship.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Entity representing a precomputed "possibly related" suggestion.
+ * Suggestions are recomputed from the relationship graph by a batch job; a user's
+ * suggestions are a single range scan on the (user_id, suggestion_rank) primary key.
+ * Rows left from earlier runs are recognized by their computed_at and removed.
+ */
+@Entity
+@Table(name = "relationship_suggestions",
+       indexes = @Index(name = "idx_relationship_suggestions_computed_at", columnList = "computed_at"))
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RelationshipSuggestion {
+
+    @EmbeddedId
+    private RelationshipSuggestionId id;
+
+    @Column(name = "suggested_user_id", nullable = false)
+    private Long suggestedUserId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "kind", nullable = false, length = 30)
+    private Kind kind;
+
+    /**
+     * Number of relationship paths implying the suggestion
+     */
+    @Column(name = "support", nullable = false)
+    private Integer support;
+
+    @Column(name = "computed_at", nullable = false)
+    private LocalDateTime computedAt;
+
+    /**
+     * What the suggested user probably is to the user
+     */
+    public enum Kind {
+        SIBLING,
+        PARENT,
+        CHILD,
+        GRANDPARENT,
+        GRANDCHILD,
+        PARENTS_SIBLING,
+        SIBLINGS_CHILD,
+        CO_PARENT
+    }
+}
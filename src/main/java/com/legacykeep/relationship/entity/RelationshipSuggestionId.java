@@ -0,0 +1,25 @@
+package com.legacykeep.relationship.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+
+/**
+ * Composite key of a relationship suggestion: the user it is for and its rank among that user's suggestions
+ */
+@Embeddable
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RelationshipSuggestionId implements Serializable {
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "suggestion_rank", nullable = false)
+    private Integer rank;
+}
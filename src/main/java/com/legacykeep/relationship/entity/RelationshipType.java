@@ -43,6 +43,13 @@ public class RelationshipType {
     @JoinColumn(name = "reverse_type_id")
     private RelationshipType reverseType;
 
+    /**
+     * Foreign key of reverseType, readable without initializing the lazy association.
+     * Only populated for rows read from the database.
+     */
+    @Column(name = "reverse_type_id", insertable = false, updatable = false)
+    private Long reverseTypeId;
+
     @Column(name = "metadata", columnDefinition = "jsonb")
     @JdbcTypeCode(SqlTypes.JSON)
     private String metadata;
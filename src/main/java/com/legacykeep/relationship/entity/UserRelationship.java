@@ -4,7 +4,9 @@ import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.JdbcTypeCode;
 import org.hibernate.annotations.UpdateTimestamp;
@@ -12,13 +14,28 @@ import org.hibernate.type.SqlTypes;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
 
 /**
  * Entity representing a relationship between two users
  * This is the core entity that stores actual user relationships.
+ * The unordered pair is also stored canonically as (user_low_id, user_high_id) so
+ * pair lookups are a single index probe regardless of orientation, and at most one
+ * relationship can exist per pair. The (context, status)
+ * and (type, status) indexes let selective listing filters start from the matching
+ * relationships and probe each one's edge by primary key. Active relationships past
+ * their end date are moved to ENDED by a scheduled job, so status alone says whether
+ * a relationship is current; (status, end_date) serves both that job and status scans.
  */
 @Entity
-@Table(name = "user_relationships")
+@Table(name = "user_relationships",
+       indexes = {
+               @Index(name = "idx_user_relationships_unique", columnList = "user_low_id, user_high_id", unique = true),
+               @Index(name = "idx_user_relationships_context_status", columnList = "context_id, status, id"),
+               @Index(name = "idx_user_relationships_type_status", columnList = "relationship_type_id, status, id"),
+               @Index(name = "idx_user_relationships_status_end_date", columnList = "status, end_date")
+       })
 @Data
 @Builder
 @NoArgsConstructor
@@ -26,7 +43,8 @@ import java.time.LocalDateTime;
 public class UserRelationship {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "user_relationships_seq")
+    @SequenceGenerator(name = "user_relationships_seq", sequenceName = "user_relationships_id_seq", allocationSize = 50)
     private Long id;
 
     @Column(name = "user1_id", nullable = false)
@@ -35,6 +53,12 @@ public class UserRelationship {
     @Column(name = "user2_id", nullable = false)
     private Long user2Id;
 
+    @Column(name = "user_low_id", nullable = false)
+    private Long userLowId;
+
+    @Column(name = "user_high_id", nullable = false)
+    private Long userHighId;
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "relationship_type_id", nullable = false)
     private RelationshipType relationshipType;
@@ -65,6 +89,12 @@ public class UserRelationship {
     @Column(name = "updated_at", nullable = false)
     private LocalDateTime updatedAt;
 
+    @OneToMany(mappedBy = "relationship", cascade = CascadeType.PERSIST)
+    @Builder.Default
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private List<RelationshipEdge> edges = new ArrayList<>();
+
     /**
      * Enum for relationship status
      */
@@ -75,6 +105,27 @@ public class UserRelationship {
         PENDING
     }
 
+    /**
+     * Fill the canonical pair columns and create one edge per endpoint before insert
+     */
+    @PrePersist
+    void prePersist() {
+        canonicalizePair();
+        if (edges.isEmpty()) {
+            edges.add(RelationshipEdge.of(this, user1Id, user2Id));
+            edges.add(RelationshipEdge.of(this, user2Id, user1Id));
+        }
+    }
+
+    /**
+     * Keep the canonical pair columns consistent with user1Id/user2Id
+     */
+    @PreUpdate
+    void canonicalizePair() {
+        userLowId = Math.min(user1Id, user2Id);
+        userHighId = Math.max(user1Id, user2Id);
+    }
+
     /**
      * Check if the relationship is currently active
      */
@@ -0,0 +1,70 @@
+package com.legacykeep.relationship.event;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * In-process stand-in for the broker, for tests and local runs without Kafka.
+ * Records are assigned to partitions by key hash like the Kafka default partitioner
+ * assigns keyed records, so per-user ordering can be checked without a broker.
+ */
+@Component
+@ConditionalOnProperty(name = "relationship.outbox.transport", havingValue = "memory")
+public class InMemoryRelationshipEventTransport implements RelationshipEventTransport {
+
+    @Value("${relationship.outbox.memory.partitions:12}")
+    private int partitions;
+
+    private final List<Record> records = new ArrayList<>();
+
+    @Override
+    public synchronized CompletableFuture<Void> send(String key, String payload) {
+        records.add(new Record(partitionFor(key), key, payload));
+        return CompletableFuture.completedFuture(null);
+    }
+
+    /**
+     * All records sent so far, in send order
+     */
+    public synchronized List<Record> getRecords() {
+        return List.copyOf(records);
+    }
+
+    /**
+     * Records sent to one partition, in send order
+     */
+    public synchronized List<Record> getRecords(int partition) {
+        List<Record> matching = new ArrayList<>();
+        for (Record record : records) {
+            if (record.partition() == partition) {
+                matching.add(record);
+            }
+        }
+        return matching;
+    }
+
+    /**
+     * Partition a key is sent to
+     */
+    public int partitionFor(String key) {
+        return (key.hashCode() & Integer.MAX_VALUE) % partitions;
+    }
+
+    /**
+     * Forget every record sent so far
+     */
+    public synchronized void clear() {
+        records.clear();
+    }
+
+    /**
+     * A record as the broker would have stored it
+     */
+    public record Record(int partition, String key, String payload) {
+    }
+}
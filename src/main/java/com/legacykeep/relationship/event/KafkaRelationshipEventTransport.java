@@ -0,0 +1,30 @@
+package com.legacykeep.relationship.event;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Publishes relationship change events to Kafka.
+ * Records go through the auto-configured producer, so spring.kafka.producer.batch-size,
+ * linger-ms and acks decide how they are batched and when a send counts as acknowledged.
+ */
+@Component
+@ConditionalOnProperty(name = "relationship.outbox.transport", havingValue = "kafka", matchIfMissing = true)
+@RequiredArgsConstructor
+public class KafkaRelationshipEventTransport implements RelationshipEventTransport {
+
+    private final KafkaTemplate<String, String> kafkaTemplate;
+
+    @Value("${relationship.outbox.topic:relationship-events}")
+    private String topic;
+
+    @Override
+    public CompletableFuture<Void> send(String key, String payload) {
+        return kafkaTemplate.send(topic, key, payload).thenApply(result -> null);
+    }
+}
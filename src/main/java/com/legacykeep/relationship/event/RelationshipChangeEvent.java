@@ -0,0 +1,67 @@
+package com.legacykeep.relationship.event;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.legacykeep.relationship.entity.RelationshipOutboxEvent;
+import com.legacykeep.relationship.entity.UserRelationship;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Message published for every relationship change.
+ * It carries the relationship's state after the change (before it, for deletes).
+ * Events for the same user arrive in order on that user's partition.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RelationshipChangeEvent {
+
+    private String eventId;
+    private String eventType;
+    private Long relationshipId;
+    private Long user1Id;
+    private Long user2Id;
+    private Long relationshipTypeId;
+    private Long contextId;
+
+    @JsonFormat(pattern = "yyyy-MM-dd")
+    private LocalDate startDate;
+
+    @JsonFormat(pattern = "yyyy-MM-dd")
+    private LocalDate endDate;
+
+    private String status;
+
+    @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss.SSS'Z'")
+    private LocalDateTime updatedAt;
+
+    @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss.SSS'Z'")
+    private LocalDateTime occurredAt;
+
+    /**
+     * Build the event for a change to the given relationship
+     */
+    public static RelationshipChangeEvent of(String eventId, RelationshipOutboxEvent.EventType eventType,
+                                             UserRelationship relationship, LocalDateTime occurredAt) {
+        return RelationshipChangeEvent.builder()
+                .eventId(eventId)
+                .eventType(eventType.name())
+                .relationshipId(relationship.getId())
+                .user1Id(relationship.getUser1Id())
+                .user2Id(relationship.getUser2Id())
+                .relationshipTypeId(relationship.getRelationshipType() != null ? relationship.getRelationshipType().getId() : null)
+                .contextId(relationship.getContextId())
+                .startDate(relationship.getStartDate())
+                .endDate(relationship.getEndDate())
+                .status(relationship.getStatus() != null ? relationship.getStatus().name() : null)
+                .updatedAt(relationship.getUpdatedAt())
+                .occurredAt(occurredAt)
+                .build();
+    }
+}
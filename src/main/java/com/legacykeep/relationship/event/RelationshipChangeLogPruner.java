@@ -0,0 +1,45 @@
+package com.legacykeep.relationship.event;
+
+import com.legacykeep.relationship.repository.RelationshipChangeRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+
+/**
+ * Deletes change log entries older than the change feed retention.
+ * Deletes run in small transactions so the log is never locked for long; clients whose
+ * cursor predates the retention are told to resync instead.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class RelationshipChangeLogPruner {
+
+    private final RelationshipChangeRepository changeRepository;
+    private final PlatformTransactionManager transactionManager;
+
+    @Value("${relationship.changes.retention-days:30}")
+    private int retentionDays;
+
+    @Value("${relationship.changes.prune-chunk-size:10000}")
+    private int chunkSize;
+
+    @Scheduled(cron = "${relationship.changes.prune-cron:0 30 3 * * *}")
+    public void prune() {
+        LocalDateTime cutoff = LocalDateTime.now().minusDays(retentionDays);
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        long total = 0;
+        Integer deleted;
+        do {
+            deleted = transactionTemplate.execute(status -> changeRepository.deleteChangedBefore(cutoff, chunkSize));
+            total += deleted != null ? deleted : 0;
+        } while (deleted != null && deleted == chunkSize);
+        log.info("Pruned {} relationship change log entries older than {}", total, cutoff);
+    }
+}
@@ -0,0 +1,86 @@
+package com.legacykeep.relationship.event;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.legacykeep.relationship.cache.RelationshipExistenceFilter;
+import com.legacykeep.relationship.entity.RelationshipOutboxEvent;
+import com.legacykeep.relationship.entity.UserRelationship;
+import com.legacykeep.relationship.graph.RelationshipGraphEngine;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.TopicPartition;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.listener.AbstractConsumerSeekAware;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * Applies the relationship changes committed by every instance to this instance's
+ * in-memory graph and existence filter. Each instance consumes the change topic in its own consumer group,
+ * so all of them see every change, including expiries and writes made elsewhere.
+ *
+ * The relay sends each event once per user; only the copy keyed by user1 is applied.
+ * On assignment the consumer rewinds to shortly before this instance started, so changes
+ * committed while the graph was loading are not missed. Applying a change is idempotent,
+ * and a user's changes arrive in order, so replayed and locally applied changes converge
+ * on the latest state. Once the topic is assigned the existence filter is told it may rule
+ * pairs out, since writes made elsewhere now reach it.
+ */
+@Component
+@ConditionalOnExpression("${relationship.sync.enabled:true} and '${relationship.outbox.transport:kafka}' == 'kafka'")
+@RequiredArgsConstructor
+@Slf4j
+public class RelationshipChangeSubscriber extends AbstractConsumerSeekAware {
+
+    private final RelationshipGraphEngine relationshipGraphEngine;
+    private final RelationshipExistenceFilter relationshipExistenceFilter;
+    private final ObjectMapper objectMapper;
+
+    private final long startedAt = System.currentTimeMillis();
+
+    @Value("${relationship.sync.replay-lookback-ms:60000}")
+    private long replayLookbackMillis;
+
+    @Override
+    public void onPartitionsAssigned(Map<TopicPartition, Long> assignments, ConsumerSeekCallback callback) {
+        super.onPartitionsAssigned(assignments, callback);
+        callback.seekToTimestamp(assignments.keySet(), startedAt - replayLookbackMillis);
+        relationshipExistenceFilter.markSynced();
+    }
+
+    @KafkaListener(topics = "${relationship.outbox.topic:relationship-events}",
+            groupId = "${relationship.sync.group-id-prefix:relationship-sync}-${random.uuid}")
+    public void onChange(ConsumerRecord<String, String> record) {
+        RelationshipChangeEvent event;
+        try {
+            event = objectMapper.readValue(record.value(), RelationshipChangeEvent.class);
+        } catch (JsonProcessingException e) {
+            log.warn("Skipping unreadable relationship change event at offset {}: {}", record.offset(), e.getMessage());
+            return;
+        }
+        if (event.getRelationshipId() == null || event.getUser1Id() == null
+                || !String.valueOf(event.getUser1Id()).equals(record.key())) {
+            return;
+        }
+        apply(event);
+    }
+
+    private void apply(RelationshipChangeEvent event) {
+        if (RelationshipOutboxEvent.EventType.DELETED.name().equals(event.getEventType())) {
+            relationshipGraphEngine.remove(event.getRelationshipId());
+            relationshipExistenceFilter.recordRemoval();
+            return;
+        }
+        if (RelationshipOutboxEvent.EventType.CREATED.name().equals(event.getEventType()) && event.getUser2Id() != null) {
+            relationshipExistenceFilter.add(event.getUser1Id(), event.getUser2Id());
+        }
+        if (event.getRelationshipTypeId() != null && event.getStatus() != null) {
+            relationshipGraphEngine.upsert(event.getRelationshipId(), event.getUser1Id(), event.getUser2Id(),
+                    event.getRelationshipTypeId(), UserRelationship.RelationshipStatus.valueOf(event.getStatus()));
+        }
+    }
+}
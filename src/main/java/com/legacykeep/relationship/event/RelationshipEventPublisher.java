@@ -0,0 +1,72 @@
+package com.legacykeep.relationship.event;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.legacykeep.relationship.entity.RelationshipChange;
+import com.legacykeep.relationship.entity.RelationshipOutboxEvent;
+import com.legacykeep.relationship.entity.UserRelationship;
+import com.legacykeep.relationship.repository.RelationshipChangeRepository;
+import com.legacykeep.relationship.repository.RelationshipOutboxRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Records relationship changes in the outbox and in each user's change log.
+ * Must be called inside the transaction making the change; the relay publishes the
+ * event after that transaction commits, and the change feed serves the log entries.
+ */
+@Component
+@RequiredArgsConstructor
+public class RelationshipEventPublisher {
+
+    private final RelationshipOutboxRepository outboxRepository;
+    private final RelationshipChangeRepository changeRepository;
+    private final ObjectMapper objectMapper;
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void relationshipCreated(UserRelationship relationship) {
+        record(RelationshipOutboxEvent.EventType.CREATED, relationship);
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void relationshipUpdated(UserRelationship relationship) {
+        record(RelationshipOutboxEvent.EventType.UPDATED, relationship);
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void relationshipDeleted(UserRelationship relationship) {
+        record(RelationshipOutboxEvent.EventType.DELETED, relationship);
+    }
+
+    private void record(RelationshipOutboxEvent.EventType eventType, UserRelationship relationship) {
+        RelationshipChangeEvent event = RelationshipChangeEvent.of(
+                UUID.randomUUID().toString(), eventType, relationship, LocalDateTime.now(ZoneOffset.UTC));
+        String payload;
+        try {
+            payload = objectMapper.writeValueAsString(event);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize relationship change event", e);
+        }
+        outboxRepository.save(RelationshipOutboxEvent.builder()
+                .relationshipId(relationship.getId())
+                .eventType(eventType)
+                .user1Id(relationship.getUser1Id())
+                .user2Id(relationship.getUser2Id())
+                .payload(payload)
+                .build());
+
+        RelationshipChange.ChangeType changeType = RelationshipChange.ChangeType.valueOf(eventType.name());
+        changeRepository.saveAll(List.of(
+                RelationshipChange.builder().userId(relationship.getUser1Id()).relationshipId(relationship.getId())
+                        .changeType(changeType).build(),
+                RelationshipChange.builder().userId(relationship.getUser2Id()).relationshipId(relationship.getId())
+                        .changeType(changeType).build()));
+    }
+}
@@ -0,0 +1,15 @@
+package com.legacykeep.relationship.event;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Destination the outbox relay publishes relationship change events to
+ */
+public interface RelationshipEventTransport {
+
+    /**
+     * Send one event under the given partition key. The future completes once the
+     * destination has durably accepted it, or completes exceptionally if it could not.
+     */
+    CompletableFuture<Void> send(String key, String payload);
+}
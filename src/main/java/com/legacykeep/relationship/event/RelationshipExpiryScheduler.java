@@ -0,0 +1,106 @@
+package com.legacykeep.relationship.event;
+
+import com.legacykeep.relationship.cache.FamilyTreeCache;
+import com.legacykeep.relationship.cache.RelationshipCacheEvictor;
+import com.legacykeep.relationship.cache.RelationshipTypeRegistry;
+import com.legacykeep.relationship.dto.RelationshipRow;
+import com.legacykeep.relationship.entity.UserRelationship;
+import com.legacykeep.relationship.graph.RelationshipGraphEngine;
+import com.legacykeep.relationship.repository.UserRelationshipRepository;
+import com.legacykeep.relationship.util.TransactionCallbacks;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Moves active relationships whose end date has passed to ENDED.
+ * Each chunk is one UPDATE in its own transaction that skips rows locked elsewhere, so
+ * instances running at the same time split the work instead of blocking each other.
+ * Every ended relationship is published as an update in that transaction, and the
+ * graph and caches are refreshed once it commits.
+ */
+@Component
+@ConditionalOnProperty(name = "relationship.expiry.enabled", havingValue = "true", matchIfMissing = true)
+@RequiredArgsConstructor
+@Slf4j
+public class RelationshipExpiryScheduler {
+
+    private final UserRelationshipRepository userRelationshipRepository;
+    private final RelationshipTypeRegistry relationshipTypeRegistry;
+    private final RelationshipEventPublisher relationshipEventPublisher;
+    private final RelationshipGraphEngine relationshipGraphEngine;
+    private final FamilyTreeCache familyTreeCache;
+    private final RelationshipCacheEvictor relationshipCacheEvictor;
+    private final PlatformTransactionManager transactionManager;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${relationship.expiry.chunk-size:10000}")
+    private int chunkSize;
+
+    private TransactionTemplate transactionTemplate;
+    private Counter expired;
+
+    @PostConstruct
+    void init() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        expired = Counter.builder("relationship.expiry.ended")
+                .description("Relationships moved to ENDED after their end date passed")
+                .register(meterRegistry);
+    }
+
+    /**
+     * End every active relationship whose end date is before today, one chunk per transaction.
+     * A chunk can come back short because rows locked by another instance are skipped, so
+     * this keeps going until a chunk ends nothing.
+     */
+    @Scheduled(cron = "${relationship.expiry.cron:0 5 0 * * *}")
+    public void expire() {
+        LocalDate today = LocalDate.now();
+        long total = 0;
+        Integer ended;
+        do {
+            ended = transactionTemplate.execute(status -> expireChunk(today));
+            total += ended != null ? ended : 0;
+        } while (ended != null && ended > 0);
+        if (total > 0) {
+            log.info("Ended {} relationships whose end date was before {}", total, today);
+        }
+    }
+
+    private int expireChunk(LocalDate today) {
+        List<RelationshipRow> rows = userRelationshipRepository.endExpired(today, chunkSize);
+        if (rows.isEmpty()) {
+            return 0;
+        }
+        for (RelationshipRow row : rows) {
+            UserRelationship relationship = row.toDetachedEntity(
+                    relationshipTypeRegistry.findById(row.relationshipTypeId()).orElse(null));
+            relationshipEventPublisher.relationshipUpdated(relationship);
+        }
+        TransactionCallbacks.afterCommit(() -> {
+            Long[] members = new Long[rows.size() * 2];
+            for (int i = 0; i < rows.size(); i++) {
+                RelationshipRow row = rows.get(i);
+                relationshipGraphEngine.upsert(row.id(), row.user1Id(), row.user2Id(), row.relationshipTypeId(), row.status());
+                relationshipCacheEvictor.evictRelationship(row.id());
+                relationshipCacheEvictor.evictUserListings(row.user1Id(), row.user2Id());
+                members[2 * i] = row.user1Id();
+                members[2 * i + 1] = row.user2Id();
+            }
+            familyTreeCache.evictMembers(members);
+            expired.increment(rows.size());
+        });
+        return rows.size();
+    }
+}
@@ -0,0 +1,109 @@
+package com.legacykeep.relationship.event;
+
+import com.legacykeep.relationship.entity.RelationshipOutboxEvent;
+import com.legacykeep.relationship.repository.RelationshipOutboxRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Drains the relationship outbox to the event transport.
+ * Each event is sent once per user it concerns, keyed by that user's ID, so every user's
+ * changes land on one partition in order. A batch is sent without waiting between
+ * records, letting the producer group them, and its rows are deleted only after every
+ * send is acknowledged; a failure leaves them in place to be retried on the next poll,
+ * so delivery is at least once. A session-level advisory lock keeps one instance
+ * draining at a time, which preserves the order of events across instances. No
+ * transaction or row lock is held while waiting for the broker: reading a batch and
+ * deleting it are separate short statements.
+ */
+@Component
+@ConditionalOnProperty(name = "relationship.outbox.relay.enabled", havingValue = "true", matchIfMissing = true)
+@RequiredArgsConstructor
+@Slf4j
+public class RelationshipOutboxRelay {
+
+    private static final long RELAY_LOCK_KEY = 0x52454C4F55544258L;
+
+    private final RelationshipOutboxRepository outboxRepository;
+    private final RelationshipEventTransport transport;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${relationship.outbox.relay.batch-size:500}")
+    private int batchSize;
+
+    @Value("${relationship.outbox.relay.send-timeout-ms:30000}")
+    private long sendTimeoutMillis;
+
+    private Counter published;
+    private Counter failures;
+
+    @PostConstruct
+    void init() {
+        published = Counter.builder("relationship.outbox.published")
+                .description("Relationship change events relayed from the outbox")
+                .register(meterRegistry);
+        failures = Counter.builder("relationship.outbox.failures")
+                .description("Outbox batches that failed to send and will be retried")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Relay pending events until the outbox is empty or another instance holds the relay lock
+     */
+    @Scheduled(fixedDelayString = "${relationship.outbox.relay.poll-interval-ms:200}")
+    public void drain() {
+        try {
+            outboxRepository.runWithSessionLock(RELAY_LOCK_KEY, () -> {
+                int relayed;
+                do {
+                    relayed = relayBatch();
+                } while (relayed == batchSize);
+            });
+        } catch (RuntimeException e) {
+            failures.increment();
+            log.warn("Failed to relay relationship change events; retrying on next poll: {}", e.getMessage());
+        }
+    }
+
+    private int relayBatch() {
+        List<RelationshipOutboxEvent> batch = outboxRepository.findOldest(batchSize);
+        if (batch.isEmpty()) {
+            return 0;
+        }
+
+        List<CompletableFuture<Void>> sends = new ArrayList<>(batch.size() * 2);
+        List<Long> ids = new ArrayList<>(batch.size());
+        for (RelationshipOutboxEvent event : batch) {
+            sends.add(transport.send(String.valueOf(event.getUser1Id()), event.getPayload()));
+            sends.add(transport.send(String.valueOf(event.getUser2Id()), event.getPayload()));
+            ids.add(event.getId());
+        }
+        try {
+            CompletableFuture.allOf(sends.toArray(new CompletableFuture[0])).get(sendTimeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while relaying relationship change events", e);
+        } catch (ExecutionException | TimeoutException e) {
+            throw new IllegalStateException("Relationship change events were not acknowledged", e);
+        }
+
+        outboxRepository.deleteAllByIdInBatch(ids);
+        published.increment(batch.size());
+        log.debug("Relayed {} relationship change events", batch.size());
+        return batch.size();
+    }
+}
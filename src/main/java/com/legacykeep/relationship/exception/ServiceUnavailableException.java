@@ -0,0 +1,15 @@
+package com.legacykeep.relationship.exception;
+
+/**
+ * Exception thrown when a dependency needed to serve the request is not ready yet
+ */
+public class ServiceUnavailableException extends RuntimeException {
+
+    public ServiceUnavailableException(String message) {
+        super(message);
+    }
+
+    public ServiceUnavailableException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,22 @@
+package com.legacykeep.relationship.gedcom;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A GEDCOM FAM record reduced to the cross-references needed to build relationships
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class GedcomFamily {
+
+    private String xref;
+    private String husbandXref;
+    private String wifeXref;
+    private List<String> childXrefs = new ArrayList<>();
+}
@@ -0,0 +1,64 @@
+package com.legacykeep.relationship.gedcom;
+
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Progress of a single GEDCOM import, updated by the parser and writer threads
+ */
+@Getter
+public class GedcomImportJob {
+
+    /**
+     * Lifecycle of an import
+     */
+    public enum Status {
+        QUEUED,
+        RUNNING,
+        COMPLETED,
+        FAILED
+    }
+
+    private final String id;
+    private final long fileSizeBytes;
+    private final LocalDateTime submittedAt = LocalDateTime.now();
+
+    private final AtomicLong bytesRead = new AtomicLong();
+    private final AtomicLong individualsParsed = new AtomicLong();
+    private final AtomicLong familiesParsed = new AtomicLong();
+    private final AtomicLong relationshipsSubmitted = new AtomicLong();
+    private final AtomicLong relationshipsCreated = new AtomicLong();
+    private final AtomicLong duplicates = new AtomicLong();
+    private final AtomicLong invalid = new AtomicLong();
+    private final AtomicLong batchesWritten = new AtomicLong();
+
+    private volatile Status status = Status.QUEUED;
+    private volatile LocalDateTime finishedAt;
+    private volatile String error;
+
+    public GedcomImportJob(String id, long fileSizeBytes) {
+        this.id = id;
+        this.fileSizeBytes = fileSizeBytes;
+    }
+
+    public void start() {
+        status = Status.RUNNING;
+    }
+
+    public void complete() {
+        status = Status.COMPLETED;
+        finishedAt = LocalDateTime.now();
+    }
+
+    public void fail(String error) {
+        this.error = error;
+        status = Status.FAILED;
+        finishedAt = LocalDateTime.now();
+    }
+
+    public boolean isFinished() {
+        return status == Status.COMPLETED || status == Status.FAILED;
+    }
+}
@@ -0,0 +1,17 @@
+package com.legacykeep.relationship.gedcom;
+
+/**
+ * Receives records from {@link GedcomParser} as they are read
+ */
+public interface GedcomListener {
+
+    /**
+     * Called for every INDI record
+     */
+    void onIndividual(String xref);
+
+    /**
+     * Called for every FAM record once all its lines have been read
+     */
+    void onFamily(GedcomFamily family);
+}
@@ -0,0 +1,80 @@
+package com.legacykeep.relationship.gedcom;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+
+/**
+ * Streaming GEDCOM 5.5 reader.
+ * Lines are read one at a time and only the FAM record currently being read is held
+ * in memory, so memory use does not depend on file size. Individuals are reported by
+ * cross-reference only; everything except HUSB, WIFE and CHIL links is skipped.
+ */
+public final class GedcomParser {
+
+    private GedcomParser() {
+    }
+
+    /**
+     * Read every record from the reader, returning the number of lines read
+     */
+    public static long parse(BufferedReader reader, GedcomListener listener) throws IOException {
+        long lines = 0;
+        GedcomFamily family = null;
+        String line;
+        while ((line = reader.readLine()) != null) {
+            lines++;
+            if (lines == 1 && !line.isEmpty() && line.charAt(0) == '\uFEFF') {
+                line = line.substring(1);
+            }
+            line = line.strip();
+            if (line.isEmpty()) {
+                continue;
+            }
+
+            int firstSpace = line.indexOf(' ');
+            if (firstSpace < 0) {
+                continue;
+            }
+            String level = line.substring(0, firstSpace);
+            String rest = line.substring(firstSpace + 1);
+
+            if (level.equals("0")) {
+                if (family != null) {
+                    listener.onFamily(family);
+                    family = null;
+                }
+                if (rest.startsWith("@")) {
+                    int xrefEnd = rest.indexOf(' ');
+                    if (xrefEnd > 0) {
+                        String xref = rest.substring(0, xrefEnd);
+                        String tag = rest.substring(xrefEnd + 1).strip();
+                        if (tag.equals("INDI")) {
+                            listener.onIndividual(xref);
+                        } else if (tag.equals("FAM")) {
+                            family = new GedcomFamily();
+                            family.setXref(xref);
+                        }
+                    }
+                }
+            } else if (family != null && level.equals("1")) {
+                int tagEnd = rest.indexOf(' ');
+                if (tagEnd < 0) {
+                    continue;
+                }
+                String tag = rest.substring(0, tagEnd);
+                String value = rest.substring(tagEnd + 1).strip();
+                switch (tag) {
+                    case "HUSB" -> family.setHusbandXref(value);
+                    case "WIFE" -> family.setWifeXref(value);
+                    case "CHIL" -> family.getChildXrefs().add(value);
+                    default -> {
+                    }
+                }
+            }
+        }
+        if (family != null) {
+            listener.onFamily(family);
+        }
+        return lines;
+    }
+}
@@ -0,0 +1,79 @@
+package com.legacykeep.relationship.gedcom;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Explicit assignment of GEDCOM individuals to users, read from lines of the form
+ * {@code xref,userId} such as {@code @I12@,1042}. The enclosing @ signs are optional.
+ * Blank lines and lines starting with # are ignored.
+ */
+public final class GedcomXrefMapping {
+
+    private final Map<String, Long> userIds;
+
+    private GedcomXrefMapping(Map<String, Long> userIds) {
+        this.userIds = userIds;
+    }
+
+    /**
+     * Read a mapping, rejecting malformed lines and cross-references mapped twice
+     */
+    public static GedcomXrefMapping read(BufferedReader reader) throws IOException {
+        Map<String, Long> userIds = new HashMap<>();
+        long lineNumber = 0;
+        String line;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            line = line.strip();
+            if (line.isEmpty() || line.startsWith("#")) {
+                continue;
+            }
+            int comma = line.indexOf(',');
+            if (comma < 0) {
+                throw new IllegalArgumentException("Invalid xref mapping at line " + lineNumber + ": expected xref,userId");
+            }
+            String xref = normalize(line.substring(0, comma));
+            long userId;
+            try {
+                userId = Long.parseLong(line.substring(comma + 1).strip());
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Invalid user ID in xref mapping at line " + lineNumber);
+            }
+            if (xref.isEmpty() || userId <= 0) {
+                throw new IllegalArgumentException("Invalid xref mapping at line " + lineNumber);
+            }
+            if (userIds.put(xref, userId) != null) {
+                throw new IllegalArgumentException("Cross-reference mapped more than once: @" + xref + "@");
+            }
+        }
+        if (userIds.isEmpty()) {
+            throw new IllegalArgumentException("Xref mapping is empty");
+        }
+        return new GedcomXrefMapping(userIds);
+    }
+
+    /**
+     * User ID assigned to a cross-reference, or null when it has none
+     */
+    public Long userId(String xref) {
+        return xref == null ? null : userIds.get(normalize(xref));
+    }
+
+    /**
+     * Number of mapped cross-references
+     */
+    public int size() {
+        return userIds.size();
+    }
+
+    private static String normalize(String xref) {
+        String value = xref.strip();
+        if (value.length() >= 2 && value.startsWith("@") && value.endsWith("@")) {
+            value = value.substring(1, value.length() - 1);
+        }
+        return value;
+    }
+}
@@ -0,0 +1,133 @@
+package com.legacykeep.relationship.graph;
+
+import java.util.Arrays;
+
+/**
+ * Immutable compressed-sparse-row adjacency snapshot.
+ * Vertex i is the user vertices[i]; its edges occupy slots offsets[i] until offsets[i + 1],
+ * each slot holding the neighbor's vertex index, the relationship ID and packed edge data.
+ */
+final class CsrGraph {
+
+    static final CsrGraph EMPTY = new CsrGraph(new long[0], new int[1], new int[0], new long[0], new int[0]);
+
+    final long[] vertices;
+    final int[] offsets;
+    final int[] targets;
+    final long[] relationshipIds;
+    final int[] edgeData;
+
+    CsrGraph(long[] vertices, int[] offsets, int[] targets, long[] relationshipIds, int[] edgeData) {
+        this.vertices = vertices;
+        this.offsets = offsets;
+        this.targets = targets;
+        this.relationshipIds = relationshipIds;
+        this.edgeData = edgeData;
+    }
+
+    /**
+     * Vertex index of a user, or a negative value when the user has no edges
+     */
+    int indexOf(long userId) {
+        return Arrays.binarySearch(vertices, userId);
+    }
+
+    int vertexCount() {
+        return vertices.length;
+    }
+
+    /**
+     * Number of directed edge slots (two per relationship)
+     */
+    int slotCount() {
+        return targets.length;
+    }
+
+    /**
+     * Accumulates relationships and builds a CSR snapshot from them
+     */
+    static final class Builder {
+
+        private long[] user1;
+        private long[] user2;
+        private long[] relationshipIds;
+        private int[] data;
+        private int size;
+
+        Builder(int expectedRelationships) {
+            int capacity = Math.max(expectedRelationships, 16);
+            user1 = new long[capacity];
+            user2 = new long[capacity];
+            relationshipIds = new long[capacity];
+            data = new int[capacity];
+        }
+
+        /**
+         * Add a relationship; outgoingData is the packed data as seen from user1
+         */
+        void add(long user1Id, long user2Id, long relationshipId, int outgoingData) {
+            if (size == user1.length) {
+                int capacity = size + (size >> 1);
+                user1 = Arrays.copyOf(user1, capacity);
+                user2 = Arrays.copyOf(user2, capacity);
+                relationshipIds = Arrays.copyOf(relationshipIds, capacity);
+                data = Arrays.copyOf(data, capacity);
+            }
+            user1[size] = user1Id;
+            user2[size] = user2Id;
+            relationshipIds[size] = relationshipId;
+            data[size] = outgoingData;
+            size++;
+        }
+
+        int size() {
+            return size;
+        }
+
+        CsrGraph build() {
+            long[] endpoints = new long[size * 2];
+            System.arraycopy(user1, 0, endpoints, 0, size);
+            System.arraycopy(user2, 0, endpoints, size, size);
+            Arrays.parallelSort(endpoints);
+
+            int vertexCount = 0;
+            for (int i = 0; i < endpoints.length; i++) {
+                if (i == 0 || endpoints[i] != endpoints[i - 1]) {
+                    endpoints[vertexCount++] = endpoints[i];
+                }
+            }
+            long[] vertices = Arrays.copyOf(endpoints, vertexCount);
+
+            int[] source = new int[size];
+            int[] target = new int[size];
+            int[] offsets = new int[vertexCount + 1];
+            for (int i = 0; i < size; i++) {
+                source[i] = Arrays.binarySearch(vertices, user1[i]);
+                target[i] = Arrays.binarySearch(vertices, user2[i]);
+                offsets[source[i] + 1]++;
+                offsets[target[i] + 1]++;
+            }
+            for (int v = 0; v < vertexCount; v++) {
+                offsets[v + 1] += offsets[v];
+            }
+
+            int slots = size * 2;
+            int[] targets = new int[slots];
+            long[] slotRelationshipIds = new long[slots];
+            int[] edgeData = new int[slots];
+            int[] cursor = Arrays.copyOf(offsets, vertexCount);
+            for (int i = 0; i < size; i++) {
+                int out = cursor[source[i]]++;
+                targets[out] = target[i];
+                slotRelationshipIds[out] = relationshipIds[i];
+                edgeData[out] = data[i];
+
+                int in = cursor[target[i]]++;
+                targets[in] = source[i];
+                slotRelationshipIds[in] = relationshipIds[i];
+                edgeData[in] = EdgeData.flip(data[i]);
+            }
+            return new CsrGraph(vertices, offsets, targets, slotRelationshipIds, edgeData);
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.legacykeep.relationship.graph;
+
+import com.legacykeep.relationship.entity.UserRelationship;
+
+/**
+ * Packs per-edge attributes into a single int:
+ * bits 0-1 hold the status ordinal, bit 2 is set when the edge's owner is user1 of
+ * the relationship, and bits 3-30 hold the relationship type ID.
+ */
+public final class EdgeData {
+
+    static final int DEAD = -1;
+
+    private static final int STATUS_MASK = 0b11;
+    private static final int OUTGOING_BIT = 0b100;
+    private static final int TYPE_SHIFT = 3;
+    private static final long MAX_TYPE_ID = (1L << 28) - 1;
+
+    private static final UserRelationship.RelationshipStatus[] STATUSES = UserRelationship.RelationshipStatus.values();
+
+    private EdgeData() {
+    }
+
+    public static int pack(long typeId, UserRelationship.RelationshipStatus status, boolean outgoing) {
+        if (typeId < 0 || typeId > MAX_TYPE_ID) {
+            throw new IllegalArgumentException("Relationship type ID out of packable range: " + typeId);
+        }
+        return ((int) typeId << TYPE_SHIFT) | (outgoing ? OUTGOING_BIT : 0) | status.ordinal();
+    }
+
+    /**
+     * Same edge seen from the other endpoint
+     */
+    public static int flip(int data) {
+        return data ^ OUTGOING_BIT;
+    }
+
+    public static long typeId(int data) {
+        return data >>> TYPE_SHIFT;
+    }
+
+    public static int statusOrdinal(int data) {
+        return data & STATUS_MASK;
+    }
+
+    public static UserRelationship.RelationshipStatus status(int data) {
+        return STATUSES[data & STATUS_MASK];
+    }
+
+    /**
+     * True when the owner of the edge is user1 of the relationship
+     */
+    public static boolean isOutgoing(int data) {
+        return (data & OUTGOING_BIT) != 0;
+    }
+}
@@ -0,0 +1,43 @@
+package com.legacykeep.relationship.graph;
+
+import com.legacykeep.relationship.entity.UserRelationship;
+
+import java.util.Collection;
+
+/**
+ * Predicate over packed edge data (see {@link EdgeData})
+ */
+@FunctionalInterface
+public interface EdgeFilter {
+
+    EdgeFilter ALL = data -> true;
+
+    boolean accept(int data);
+
+    /**
+     * Accept edges whose status is one of the given statuses
+     */
+    static EdgeFilter statuses(Collection<UserRelationship.RelationshipStatus> statuses) {
+        int mask = 0;
+        for (UserRelationship.RelationshipStatus status : statuses) {
+            mask |= 1 << status.ordinal();
+        }
+        int statusMask = mask;
+        return data -> (statusMask & (1 << EdgeData.statusOrdinal(data))) != 0;
+    }
+
+    /**
+     * Accept edges whose relationship type is one of the given type IDs
+     */
+    static EdgeFilter types(long[] typeIds) {
+        LongHashSet allowed = new LongHashSet(typeIds.length);
+        for (long typeId : typeIds) {
+            allowed.add(typeId);
+        }
+        return data -> allowed.contains(EdgeData.typeId(data));
+    }
+
+    default EdgeFilter and(EdgeFilter other) {
+        return data -> accept(data) && other.accept(data);
+    }
+}
@@ -0,0 +1,15 @@
+package com.legacykeep.relationship.graph;
+
+/**
+ * Callback receiving one neighbor edge at a time without allocating
+ */
+@FunctionalInterface
+public interface EdgeVisitor {
+
+    /**
+     * @param neighborId     the user at the other end of the edge
+     * @param relationshipId the relationship the edge belongs to
+     * @param data           packed edge attributes (see {@link EdgeData})
+     */
+    void visit(long neighborId, long relationshipId, int data);
+}
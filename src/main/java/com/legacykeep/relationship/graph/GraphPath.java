@@ -0,0 +1,45 @@
+package com.legacykeep.relationship.graph;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Result of a shortest path search.
+ * When found, users holds the chain from source to target; relationshipIds[i] and
+ * edgeData[i] describe the edge from users[i] to users[i + 1], seen from users[i].
+ */
+@Getter
+@AllArgsConstructor
+public class GraphPath {
+
+    private final Outcome outcome;
+    private final long[] users;
+    private final long[] relationshipIds;
+    private final int[] edgeData;
+    private final int visitedUsers;
+
+    /**
+     * How a search ended
+     */
+    public enum Outcome {
+        FOUND,
+        NOT_CONNECTED,
+        DEPTH_LIMIT_REACHED,
+        TIME_BUDGET_EXHAUSTED
+    }
+
+    static GraphPath notFound(Outcome outcome, int visitedUsers) {
+        return new GraphPath(outcome, new long[0], new long[0], new int[0], visitedUsers);
+    }
+
+    public boolean isFound() {
+        return outcome == Outcome.FOUND;
+    }
+
+    /**
+     * Number of relationships on the path
+     */
+    public int length() {
+        return relationshipIds.length;
+    }
+}
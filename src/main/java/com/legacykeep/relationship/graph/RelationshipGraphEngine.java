@@ -0,0 +1,676 @@
+package com.legacykeep.relationship.graph;
+
+import com.legacykeep.relationship.entity.UserRelationship;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.util.Arrays;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory adjacency graph of all user relationships.
+ * The bulk of the graph lives in an immutable CSR snapshot built from
+ * user_relationships at startup; writes made through this instance, and those of other
+ * instances as they arrive on the change topic, go to a small primitive overlay that is
+ * merged into a fresh snapshot in the background once it grows past the compaction
+ * threshold. No boxed IDs or entities are held.
+ *
+ * Visitors run under the read lock and must not call back into write methods.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class RelationshipGraphEngine {
+
+    private static final String LOAD_SQL =
+            "SELECT id, user1_id, user2_id, relationship_type_id, status FROM user_relationships";
+
+    /**
+     * Size ratio above which intersections binary search the larger side instead of merging
+     */
+    private static final int GALLOP_RATIO = 32;
+
+    private final DataSource dataSource;
+    private final PlatformTransactionManager transactionManager;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final AtomicBoolean compactionPending = new AtomicBoolean();
+    private final ExecutorService compactor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "relationship-graph-compactor");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    @Value("${relationship.graph.enabled:true}")
+    private boolean enabled;
+
+    @Value("${relationship.graph.load-fetch-size:10000}")
+    private int loadFetchSize;
+
+    @Value("${relationship.graph.compaction-threshold:65536}")
+    private int compactionThreshold;
+
+    private CsrGraph base = CsrGraph.EMPTY;
+    private Overlay overlay = new Overlay();
+    private volatile boolean loaded;
+
+    /**
+     * Load the graph once the application has started
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (enabled) {
+            reload();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        compactor.shutdownNow();
+    }
+
+    /**
+     * Rebuild the snapshot from the database. Overlay writes made while loading are kept
+     * and still take precedence over the rows that were read.
+     */
+    public void reload() {
+        long started = System.currentTimeMillis();
+        CsrGraph.Builder builder = new CsrGraph.Builder(1 << 16);
+
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.setFetchSize(loadFetchSize);
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setReadOnly(true);
+        // Postgres only streams with a cursor inside a transaction
+        transactionTemplate.executeWithoutResult(status -> jdbcTemplate.query(LOAD_SQL, (RowCallbackHandler) rs ->
+                builder.add(rs.getLong(2), rs.getLong(3), rs.getLong(1),
+                        EdgeData.pack(rs.getLong(4), UserRelationship.RelationshipStatus.valueOf(rs.getString(5)), true))));
+
+        CsrGraph loadedGraph = builder.build();
+        lock.writeLock().lock();
+        try {
+            base = loadedGraph;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        loaded = true;
+        log.info("Loaded relationship graph with {} users and {} relationships in {} ms",
+                loadedGraph.vertexCount(), builder.size(), System.currentTimeMillis() - started);
+        maybeCompact();
+    }
+
+    /**
+     * Check if the initial load has completed
+     */
+    public boolean isLoaded() {
+        return loaded;
+    }
+
+    /**
+     * Add or replace a relationship in the graph
+     */
+    public void upsert(UserRelationship relationship) {
+        upsert(relationship.getId(), relationship.getUser1Id(), relationship.getUser2Id(),
+                relationship.getRelationshipType().getId(), relationship.getStatus());
+    }
+
+    /**
+     * Add or replace a relationship in the graph
+     */
+    public void upsert(long relationshipId, long user1Id, long user2Id, long typeId,
+                       UserRelationship.RelationshipStatus status) {
+        if (!enabled) {
+            return;
+        }
+        int data = EdgeData.pack(typeId, status, true);
+        lock.writeLock().lock();
+        try {
+            overlay.remove(relationshipId);
+            overlay.add(relationshipId, user1Id, user2Id, data);
+        } finally {
+            lock.writeLock().unlock();
+        }
+        maybeCompact();
+    }
+
+    /**
+     * Remove a relationship from the graph
+     */
+    public void remove(long relationshipId) {
+        if (!enabled) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            overlay.remove(relationshipId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+        maybeCompact();
+    }
+
+    /**
+     * Visit every edge of a user that passes the filter. A neighbor appears once per relationship.
+     */
+    public void forEachNeighbor(long userId, EdgeFilter filter, EdgeVisitor visitor) {
+        lock.readLock().lock();
+        try {
+            visitEdges(userId, filter, visitor);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Distinct neighbors of a user over edges that pass the filter, sorted ascending
+     */
+    public long[] neighbors(long userId, EdgeFilter filter) {
+        lock.readLock().lock();
+        try {
+            return distinctNeighbors(userId, filter);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Distinct users connected to both users over edges that pass the filter, sorted ascending.
+     * Both neighbor sets are read under one lock acquisition and intersected as sorted arrays.
+     */
+    public long[] commonNeighbors(long user1Id, long user2Id, EdgeFilter filter) {
+        long[] first;
+        long[] second;
+        lock.readLock().lock();
+        try {
+            first = distinctNeighbors(user1Id, filter);
+            second = distinctNeighbors(user2Id, filter);
+        } finally {
+            lock.readLock().unlock();
+        }
+        return intersectSorted(first, second);
+    }
+
+    /**
+     * Every user with an edge in the graph, sorted ascending. Users whose relationships were
+     * all removed since the last compaction may still be listed.
+     */
+    public long[] userIds() {
+        lock.readLock().lock();
+        try {
+            long[] vertices = base.vertices;
+            LongHashSet added = new LongHashSet();
+            for (int entry = 0; entry < overlay.size; entry++) {
+                long owner = overlay.owners[entry];
+                if (Arrays.binarySearch(vertices, owner) < 0) {
+                    added.add(owner);
+                }
+            }
+            long[] extra = added.toArray();
+            long[] result = Arrays.copyOf(vertices, vertices.length + extra.length);
+            System.arraycopy(extra, 0, result, vertices.length, extra.length);
+            Arrays.sort(result);
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Number of relationships a user has in the graph
+     */
+    public int degree(long userId) {
+        int[] count = new int[1];
+        forEachNeighbor(userId, EdgeFilter.ALL, (neighborId, relationshipId, data) -> count[0]++);
+        return count[0];
+    }
+
+    /**
+     * Distinct users reachable within k hops over edges that pass the filter, excluding
+     * the user itself, sorted ascending
+     */
+    public long[] kHopNeighborhood(long userId, int k, EdgeFilter filter) {
+        LongHashSet visited = new LongHashSet();
+        visited.add(userId);
+        LongArrayList reached = new LongArrayList();
+        LongArrayList frontier = new LongArrayList();
+        frontier.add(userId);
+
+        lock.readLock().lock();
+        try {
+            for (int depth = 0; depth < k && !frontier.isEmpty(); depth++) {
+                LongArrayList next = new LongArrayList();
+                for (int i = 0; i < frontier.size(); i++) {
+                    visitEdges(frontier.get(i), filter, (neighborId, relationshipId, data) -> {
+                        if (visited.add(neighborId)) {
+                            next.add(neighborId);
+                            reached.add(neighborId);
+                        }
+                    });
+                }
+                frontier = next;
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        long[] result = reached.toArray();
+        Arrays.sort(result);
+        return result;
+    }
+
+    /**
+     * Shortest path between two users over edges that pass the filter, found with a
+     * bidirectional breadth-first search. The search expands the smaller frontier one
+     * level at a time and gives up once the path would exceed maxDepth relationships
+     * or the time budget runs out.
+     */
+    public GraphPath shortestPath(long sourceId, long targetId, EdgeFilter filter, int maxDepth, long timeBudgetNanos) {
+        if (sourceId == targetId) {
+            return new GraphPath(GraphPath.Outcome.FOUND, new long[]{sourceId}, new long[0], new int[0], 1);
+        }
+        long deadline = System.nanoTime() + timeBudgetNanos;
+        SearchSide forward = new SearchSide(sourceId);
+        SearchSide backward = new SearchSide(targetId);
+
+        lock.readLock().lock();
+        try {
+            for (int explored = 0; explored < maxDepth; explored++) {
+                if (forward.frontierSize() == 0 || backward.frontierSize() == 0) {
+                    return GraphPath.notFound(GraphPath.Outcome.NOT_CONNECTED, forward.size + backward.size);
+                }
+                SearchSide expanding = forward.frontierSize() <= backward.frontierSize() ? forward : backward;
+                SearchSide opposite = expanding == forward ? backward : forward;
+
+                int[] best = {-1, Integer.MAX_VALUE};
+                int start = expanding.frontierStart;
+                int end = expanding.size;
+                for (int node = start; node < end; node++) {
+                    int parent = node;
+                    visitEdges(expanding.users[node], filter, (neighborId, relationshipId, data) -> {
+                        if (expanding.index.get(neighborId) >= 0) {
+                            return;
+                        }
+                        int discovered = expanding.add(neighborId, parent, relationshipId, data);
+                        int met = opposite.index.get(neighborId);
+                        if (met >= 0) {
+                            int length = expanding.depths[discovered] + opposite.depths[met];
+                            if (length < best[1]) {
+                                best[0] = discovered;
+                                best[1] = length;
+                            }
+                        }
+                    });
+                    if ((node & 255) == 0 && System.nanoTime() > deadline) {
+                        return GraphPath.notFound(GraphPath.Outcome.TIME_BUDGET_EXHAUSTED, forward.size + backward.size);
+                    }
+                }
+                expanding.frontierStart = end;
+
+                if (best[0] >= 0) {
+                    long meetingUser = expanding.users[best[0]];
+                    return joinPaths(forward, backward, meetingUser, forward.size + backward.size);
+                }
+            }
+            return GraphPath.notFound(GraphPath.Outcome.DEPTH_LIMIT_REACHED, forward.size + backward.size);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Number of users in the compacted snapshot
+     */
+    public int vertexCount() {
+        lock.readLock().lock();
+        try {
+            return base.vertexCount();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Number of relationship writes held in the overlay awaiting compaction
+     */
+    public int overlaySize() {
+        lock.readLock().lock();
+        try {
+            return overlay.pendingWrites();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Caller must hold the read or write lock
+     */
+    private long[] distinctNeighbors(long userId, EdgeFilter filter) {
+        LongHashSet distinct = new LongHashSet();
+        visitEdges(userId, filter, (neighborId, relationshipId, data) -> distinct.add(neighborId));
+        long[] result = distinct.toArray();
+        Arrays.sort(result);
+        return result;
+    }
+
+    /**
+     * Intersect two ascending arrays of distinct values. A linear merge is used when the
+     * sizes are comparable; when one side is much smaller, each of its values is binary
+     * searched in the rest of the larger side instead, so a hub user costs O(m log n).
+     */
+    static long[] intersectSorted(long[] a, long[] b) {
+        if (a.length > b.length) {
+            long[] swap = a;
+            a = b;
+            b = swap;
+        }
+        long[] result = new long[a.length];
+        int count = 0;
+        if ((long) a.length * GALLOP_RATIO < b.length) {
+            int from = 0;
+            for (int i = 0; i < a.length && from < b.length; i++) {
+                int found = Arrays.binarySearch(b, from, b.length, a[i]);
+                if (found >= 0) {
+                    result[count++] = a[i];
+                    from = found + 1;
+                } else {
+                    from = -found - 1;
+                }
+            }
+        } else {
+            int i = 0;
+            int j = 0;
+            while (i < a.length && j < b.length) {
+                if (a[i] < b[j]) {
+                    i++;
+                } else if (a[i] > b[j]) {
+                    j++;
+                } else {
+                    result[count++] = a[i];
+                    i++;
+                    j++;
+                }
+            }
+        }
+        return Arrays.copyOf(result, count);
+    }
+
+    /**
+     * Caller must hold the read or write lock
+     */
+    private void visitEdges(long userId, EdgeFilter filter, EdgeVisitor visitor) {
+        CsrGraph graph = base;
+        int vertex = graph.indexOf(userId);
+        if (vertex >= 0) {
+            LongHashSet tombstones = overlay.baseTombstones;
+            boolean checkTombstones = !tombstones.isEmpty();
+            for (int slot = graph.offsets[vertex], end = graph.offsets[vertex + 1]; slot < end; slot++) {
+                int data = graph.edgeData[slot];
+                long relationshipId = graph.relationshipIds[slot];
+                if (filter.accept(data) && !(checkTombstones && tombstones.contains(relationshipId))) {
+                    visitor.visit(graph.vertices[graph.targets[slot]], relationshipId, data);
+                }
+            }
+        }
+        overlay.visit(userId, filter, visitor);
+    }
+
+    private static GraphPath joinPaths(SearchSide forward, SearchSide backward, long meetingUser, int visitedUsers) {
+        int forwardNode = forward.index.get(meetingUser);
+        int backwardNode = backward.index.get(meetingUser);
+        int length = forward.depths[forwardNode] + backward.depths[backwardNode];
+
+        long[] users = new long[length + 1];
+        long[] relationshipIds = new long[length];
+        int[] edgeData = new int[length];
+
+        // Walk back from the meeting user to the source, filling the first half right to left
+        int position = forward.depths[forwardNode];
+        users[position] = meetingUser;
+        for (int node = forwardNode; forward.parents[node] >= 0; node = forward.parents[node]) {
+            position--;
+            users[position] = forward.users[forward.parents[node]];
+            relationshipIds[position] = forward.relationshipIds[node];
+            edgeData[position] = forward.edgeData[node];
+        }
+
+        // Walk from the meeting user to the target; backward edges were seen from the parent, so flip them
+        position = forward.depths[forwardNode];
+        for (int node = backwardNode; backward.parents[node] >= 0; node = backward.parents[node]) {
+            relationshipIds[position] = backward.relationshipIds[node];
+            edgeData[position] = EdgeData.flip(backward.edgeData[node]);
+            position++;
+            users[position] = backward.users[backward.parents[node]];
+        }
+        return new GraphPath(GraphPath.Outcome.FOUND, users, relationshipIds, edgeData, visitedUsers);
+    }
+
+    private void maybeCompact() {
+        if (loaded && overlay.pendingWrites() >= compactionThreshold && compactionPending.compareAndSet(false, true)) {
+            compactor.execute(this::compact);
+        }
+    }
+
+    /**
+     * Merge the overlay into a new snapshot. The overlay is copied under the read lock and
+     * merged with the immutable base without holding any lock; the write lock is only held
+     * to swap the result in and to carry over the writes made while merging. A compaction
+     * that overlaps a reload is dropped, since the reloaded base already supersedes it.
+     */
+    private void compact() {
+        long started = System.currentTimeMillis();
+        try {
+            CsrGraph graph;
+            Overlay source;
+            Overlay.Copy copy;
+            lock.readLock().lock();
+            try {
+                graph = base;
+                source = overlay;
+                copy = source.copy();
+            } finally {
+                lock.readLock().unlock();
+            }
+
+            LongHashSet tombstones = new LongHashSet(copy.removals().length);
+            for (long relationshipId : copy.removals()) {
+                tombstones.add(relationshipId);
+            }
+            CsrGraph.Builder builder = new CsrGraph.Builder(graph.slotCount() / 2 + copy.size() / 2);
+            for (int vertex = 0; vertex < graph.vertexCount(); vertex++) {
+                for (int slot = graph.offsets[vertex], end = graph.offsets[vertex + 1]; slot < end; slot++) {
+                    int data = graph.edgeData[slot];
+                    long relationshipId = graph.relationshipIds[slot];
+                    if (EdgeData.isOutgoing(data) && !tombstones.contains(relationshipId)) {
+                        builder.add(graph.vertices[vertex], graph.vertices[graph.targets[slot]], relationshipId, data);
+                    }
+                }
+            }
+            copy.drainTo(builder);
+            CsrGraph compacted = builder.build();
+
+            lock.writeLock().lock();
+            try {
+                if (base != graph || overlay != source) {
+                    log.debug("Dropped relationship graph compaction that overlapped a reload");
+                    return;
+                }
+                base = compacted;
+                overlay = source.since(copy);
+            } finally {
+                lock.writeLock().unlock();
+            }
+            log.debug("Compacted relationship graph to {} relationships in {} ms",
+                    builder.size(), System.currentTimeMillis() - started);
+        } catch (RuntimeException e) {
+            log.error("Relationship graph compaction failed", e);
+        } finally {
+            compactionPending.set(false);
+        }
+    }
+
+    /**
+     * One direction of a bidirectional search: every discovered user with its BFS parent,
+     * the edge it was reached by and its depth. The current frontier is the tail of the arrays.
+     */
+    private static final class SearchSide {
+
+        private final LongIntHashMap index = new LongIntHashMap(64, -1);
+        private long[] users = new long[64];
+        private int[] parents = new int[64];
+        private long[] relationshipIds = new long[64];
+        private int[] edgeData = new int[64];
+        private int[] depths = new int[64];
+        private int size;
+        private int frontierStart;
+
+        SearchSide(long rootId) {
+            add(rootId, -1, 0L, 0);
+        }
+
+        int add(long userId, int parent, long relationshipId, int data) {
+            if (size == users.length) {
+                int capacity = size << 1;
+                users = Arrays.copyOf(users, capacity);
+                parents = Arrays.copyOf(parents, capacity);
+                relationshipIds = Arrays.copyOf(relationshipIds, capacity);
+                edgeData = Arrays.copyOf(edgeData, capacity);
+                depths = Arrays.copyOf(depths, capacity);
+            }
+            users[size] = userId;
+            parents[size] = parent;
+            relationshipIds[size] = relationshipId;
+            edgeData[size] = data;
+            depths[size] = parent < 0 ? 0 : depths[parent] + 1;
+            index.put(userId, size);
+            return size++;
+        }
+
+        int frontierSize() {
+            return size - frontierStart;
+        }
+    }
+
+    /**
+     * Append-only primitive edge log for writes made since the last snapshot.
+     * Each relationship occupies two consecutive entries, user1's edge first.
+     * Removed relationship IDs are also logged in order, so the writes made after a
+     * point can be carried over to a new overlay.
+     */
+    private static final class Overlay {
+
+        private long[] owners = new long[64];
+        private long[] neighbors = new long[64];
+        private long[] relationshipIds = new long[64];
+        private int[] data = new int[64];
+        private int[] next = new int[64];
+        private int size;
+
+        private final LongIntHashMap heads = new LongIntHashMap(64, -1);
+        private final LongIntHashMap byRelationship = new LongIntHashMap(64, -1);
+        private final LongHashSet baseTombstones = new LongHashSet();
+        private final LongArrayList removals = new LongArrayList();
+
+        void add(long relationshipId, long user1Id, long user2Id, int outgoingData) {
+            byRelationship.put(relationshipId, size);
+            append(user1Id, user2Id, relationshipId, outgoingData);
+            append(user2Id, user1Id, relationshipId, EdgeData.flip(outgoingData));
+        }
+
+        void remove(long relationshipId) {
+            int entry = byRelationship.remove(relationshipId);
+            if (entry >= 0) {
+                data[entry] = EdgeData.DEAD;
+                data[entry + 1] = EdgeData.DEAD;
+            }
+            baseTombstones.add(relationshipId);
+            removals.add(relationshipId);
+        }
+
+        void visit(long userId, EdgeFilter filter, EdgeVisitor visitor) {
+            for (int entry = heads.get(userId); entry >= 0; entry = next[entry]) {
+                if (data[entry] != EdgeData.DEAD && filter.accept(data[entry])) {
+                    visitor.visit(neighbors[entry], relationshipIds[entry], data[entry]);
+                }
+            }
+        }
+
+        /**
+         * Copy of the entries and removals logged so far
+         */
+        Copy copy() {
+            return new Copy(Arrays.copyOf(owners, size), Arrays.copyOf(neighbors, size),
+                    Arrays.copyOf(relationshipIds, size), Arrays.copyOf(data, size), removals.toArray());
+        }
+
+        /**
+         * New overlay holding only the writes logged after the copy was taken. Removals are
+         * replayed before additions: an addition that was later removed is already dead, so
+         * each relationship ends up in its latest state.
+         */
+        Overlay since(Copy copy) {
+            Overlay rest = new Overlay();
+            for (int i = copy.removals().length; i < removals.size(); i++) {
+                rest.remove(removals.get(i));
+            }
+            for (int entry = copy.size(); entry < size; entry += 2) {
+                if (data[entry] != EdgeData.DEAD) {
+                    rest.add(relationshipIds[entry], owners[entry], neighbors[entry], data[entry]);
+                }
+            }
+            return rest;
+        }
+
+        int pendingWrites() {
+            return Math.max(size / 2, baseTombstones.size());
+        }
+
+        private void append(long owner, long neighbor, long relationshipId, int entryData) {
+            if (size == owners.length) {
+                int capacity = size << 1;
+                owners = Arrays.copyOf(owners, capacity);
+                neighbors = Arrays.copyOf(neighbors, capacity);
+                relationshipIds = Arrays.copyOf(relationshipIds, capacity);
+                data = Arrays.copyOf(data, capacity);
+                next = Arrays.copyOf(next, capacity);
+            }
+            owners[size] = owner;
+            neighbors[size] = neighbor;
+            relationshipIds[size] = relationshipId;
+            data[size] = entryData;
+            next[size] = heads.get(owner);
+            heads.put(owner, size);
+            size++;
+        }
+
+        /**
+         * Entries and removals of an overlay at one point in time
+         */
+        private record Copy(long[] owners, long[] neighbors, long[] relationshipIds, int[] data, long[] removals) {
+
+            int size() {
+                return owners.length;
+            }
+
+            void drainTo(CsrGraph.Builder builder) {
+                for (int entry = 0; entry < owners.length; entry += 2) {
+                    if (data[entry] != EdgeData.DEAD) {
+                        builder.add(owners[entry], neighbors[entry], relationshipIds[entry], data[entry]);
+                    }
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,283 @@
+package com.legacykeep.relationship.graph;
+
+import com.legacykeep.relationship.cache.RelationshipTypeRegistry;
+import com.legacykeep.relationship.entity.RelationshipSuggestion;
+import com.legacykeep.relationship.entity.RelationshipType;
+import com.legacykeep.relationship.entity.UserRelationship;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.BiConsumer;
+
+/**
+ * Suggests relationships that are probably missing by closing triangles in the graph.
+ * A path user -> middle -> candidate over active family edges, with no relationship of
+ * any status between user and candidate, implies what the candidate is to the user:
+ * two children of the same parent are probably siblings, a sibling's child is probably
+ * a niece or nephew, and so on (see RULES). Candidates are ranked by how many such
+ * paths support them.
+ *
+ * Parent types are configured by name and child types are found through the reverseType
+ * pairing, as in the family tree; sibling types are configured by name. Users are
+ * processed in chunks, and each chunk is split recursively across a fork-join pool.
+ */
+@Component
+@RequiredArgsConstructor
+public class RelationshipSuggestionEngine {
+
+    /**
+     * Roles of a neighbor relative to an edge's owner; for types, the role of user1 towards user2
+     */
+    private static final int PARENT = 1;
+    private static final int CHILD = 2;
+    private static final int SIBLING = 3;
+
+    /**
+     * Users per leaf task; family neighborhoods are small, so leaves are cheap
+     */
+    private static final int LEAF_SIZE = 256;
+
+    private static final RelationshipSuggestion.Kind[] KINDS = RelationshipSuggestion.Kind.values();
+
+    /**
+     * RULES[middle's role to user][candidate's role to middle] is the candidate's role to the user
+     */
+    private static final RelationshipSuggestion.Kind[][] RULES = new RelationshipSuggestion.Kind[4][4];
+
+    static {
+        RULES[PARENT][CHILD] = RelationshipSuggestion.Kind.SIBLING;
+        RULES[PARENT][PARENT] = RelationshipSuggestion.Kind.GRANDPARENT;
+        RULES[PARENT][SIBLING] = RelationshipSuggestion.Kind.PARENTS_SIBLING;
+        RULES[CHILD][CHILD] = RelationshipSuggestion.Kind.GRANDCHILD;
+        RULES[CHILD][PARENT] = RelationshipSuggestion.Kind.CO_PARENT;
+        RULES[CHILD][SIBLING] = RelationshipSuggestion.Kind.CHILD;
+        RULES[SIBLING][SIBLING] = RelationshipSuggestion.Kind.SIBLING;
+        RULES[SIBLING][PARENT] = RelationshipSuggestion.Kind.PARENT;
+        RULES[SIBLING][CHILD] = RelationshipSuggestion.Kind.SIBLINGS_CHILD;
+    }
+
+    private static final EdgeFilter ACTIVE = EdgeFilter.statuses(EnumSet.of(UserRelationship.RelationshipStatus.ACTIVE));
+
+    private final RelationshipGraphEngine relationshipGraphEngine;
+    private final RelationshipTypeRegistry relationshipTypeRegistry;
+
+    @Value("${relationship.family-tree.parent-types:Father,Mother}")
+    private List<String> parentTypeNames;
+
+    @Value("${relationship.suggestions.sibling-types:Brother,Sister}")
+    private List<String> siblingTypeNames;
+
+    @Value("${relationship.suggestions.top-n:10}")
+    private int topN;
+
+    @Value("${relationship.suggestions.chunk-size:10000}")
+    private int chunkSize;
+
+    @Value("${relationship.suggestions.parallelism:0}")
+    private int parallelism;
+
+    /**
+     * One suggestion for a user, ranked from 0
+     */
+    public record Suggestion(long userId, int rank, long suggestedUserId, RelationshipSuggestion.Kind kind, int support) {
+    }
+
+    /**
+     * Compute the top suggestions of every user in the graph. Each chunk of users is handed
+     * to the consumer, with its suggestions, before the next chunk is computed.
+     *
+     * @return the number of users processed
+     */
+    public int computeAll(BiConsumer<long[], List<Suggestion>> chunkConsumer) {
+        LongIntHashMap typeRoles = typeRoles();
+        long[] users = relationshipGraphEngine.userIds();
+        ForkJoinPool pool = new ForkJoinPool(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors());
+        try {
+            for (int from = 0; from < users.length; from += chunkSize) {
+                int to = Math.min(from + chunkSize, users.length);
+                Suggestion[][] results = new Suggestion[to - from][];
+                pool.invoke(new PartitionTask(users, from, to, from, results, typeRoles));
+
+                List<Suggestion> chunk = new ArrayList<>();
+                for (Suggestion[] userSuggestions : results) {
+                    chunk.addAll(Arrays.asList(userSuggestions));
+                }
+                chunkConsumer.accept(Arrays.copyOfRange(users, from, to), chunk);
+            }
+        } finally {
+            pool.shutdown();
+        }
+        return users.length;
+    }
+
+    /**
+     * Compute the top suggestions of one user
+     */
+    Suggestion[] compute(long userId, LongIntHashMap typeRoles) {
+        LongHashSet related = new LongHashSet();
+        LongArrayList middles = new LongArrayList();
+        LongArrayList middleRoles = new LongArrayList();
+        relationshipGraphEngine.forEachNeighbor(userId, EdgeFilter.ALL, (neighborId, relationshipId, data) -> {
+            related.add(neighborId);
+            int role = neighborRole(typeRoles, data);
+            if (role != 0 && ACTIVE.accept(data)) {
+                middles.add(neighborId);
+                middleRoles.add(role);
+            }
+        });
+
+        CandidateTally tally = new CandidateTally();
+        for (int i = 0; i < middles.size(); i++) {
+            RelationshipSuggestion.Kind[] rules = RULES[(int) middleRoles.get(i)];
+            relationshipGraphEngine.forEachNeighbor(middles.get(i), ACTIVE, (candidateId, relationshipId, data) -> {
+                int role = neighborRole(typeRoles, data);
+                if (candidateId != userId && role != 0 && rules[role] != null && !related.contains(candidateId)) {
+                    tally.add(candidateId, rules[role]);
+                }
+            });
+        }
+        return tally.top(userId, topN);
+    }
+
+    /**
+     * Map each parent, child and sibling type ID to the role of user1 towards user2
+     */
+    private LongIntHashMap typeRoles() {
+        LongIntHashMap roles = new LongIntHashMap(16, 0);
+        for (String name : parentTypeNames) {
+            relationshipTypeRegistry.findByName(name.trim()).ifPresent(type -> roles.put(type.getId(), PARENT));
+        }
+        for (RelationshipType type : relationshipTypeRegistry.findAll()) {
+            if (roles.get(type.getId()) == PARENT && type.getReverseType() != null
+                    && roles.get(type.getReverseType().getId()) == 0) {
+                roles.put(type.getReverseType().getId(), CHILD);
+            }
+            if (type.getReverseType() != null && roles.get(type.getReverseType().getId()) == PARENT
+                    && roles.get(type.getId()) == 0) {
+                roles.put(type.getId(), CHILD);
+            }
+        }
+        for (String name : siblingTypeNames) {
+            relationshipTypeRegistry.findByName(name.trim()).ifPresent(type -> roles.put(type.getId(), SIBLING));
+        }
+        return roles;
+    }
+
+    /**
+     * Role of an edge's neighbor relative to its owner, or 0 for non-family edges.
+     * A type names user1's role towards user2, so when the owner is user1 the neighbor
+     * holds the opposite role.
+     */
+    private static int neighborRole(LongIntHashMap typeRoles, int data) {
+        int role = typeRoles.get(EdgeData.typeId(data));
+        if (EdgeData.isOutgoing(data)) {
+            if (role == PARENT) {
+                return CHILD;
+            }
+            if (role == CHILD) {
+                return PARENT;
+            }
+        }
+        return role;
+    }
+
+    /**
+     * Computes the users of one range, splitting it in half until it is small enough
+     */
+    private final class PartitionTask extends RecursiveAction {
+
+        private final long[] users;
+        private final int from;
+        private final int to;
+        private final int offset;
+        private final Suggestion[][] results;
+        private final LongIntHashMap typeRoles;
+
+        PartitionTask(long[] users, int from, int to, int offset, Suggestion[][] results, LongIntHashMap typeRoles) {
+            this.users = users;
+            this.from = from;
+            this.to = to;
+            this.offset = offset;
+            this.results = results;
+            this.typeRoles = typeRoles;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= LEAF_SIZE) {
+                for (int i = from; i < to; i++) {
+                    results[i - offset] = RelationshipSuggestionEngine.this.compute(users[i], typeRoles);
+                }
+                return;
+            }
+            int middle = (from + to) >>> 1;
+            invokeAll(new PartitionTask(users, from, middle, offset, results, typeRoles),
+                    new PartitionTask(users, middle, to, offset, results, typeRoles));
+        }
+    }
+
+    /**
+     * Supporting path counts per candidate and suggested kind, without boxing
+     */
+    private static final class CandidateTally {
+
+        private final LongIntHashMap slots = new LongIntHashMap(16, -1);
+        private final LongArrayList candidates = new LongArrayList();
+        private int[] counts = new int[16 * KINDS.length];
+
+        void add(long candidateId, RelationshipSuggestion.Kind kind) {
+            int slot = slots.get(candidateId);
+            if (slot < 0) {
+                slot = candidates.size();
+                slots.put(candidateId, slot);
+                candidates.add(candidateId);
+                if ((slot + 1) * KINDS.length > counts.length) {
+                    counts = Arrays.copyOf(counts, counts.length * 2);
+                }
+            }
+            counts[slot * KINDS.length + kind.ordinal()]++;
+        }
+
+        /**
+         * Best-supported candidates, each with its best-supported kind; ties go to the lower user ID
+         */
+        Suggestion[] top(long userId, int limit) {
+            int size = candidates.size();
+            if (size == 0) {
+                return new Suggestion[0];
+            }
+            int[] bestKinds = new int[size];
+            int[] supports = new int[size];
+            Integer[] order = new Integer[size];
+            for (int slot = 0; slot < size; slot++) {
+                int base = slot * KINDS.length;
+                int best = 0;
+                for (int kind = 1; kind < KINDS.length; kind++) {
+                    if (counts[base + kind] > counts[base + best]) {
+                        best = kind;
+                    }
+                }
+                bestKinds[slot] = best;
+                supports[slot] = counts[base + best];
+                order[slot] = slot;
+            }
+            Arrays.sort(order, (a, b) -> supports[a] != supports[b]
+                    ? Integer.compare(supports[b], supports[a])
+                    : Long.compare(candidates.get(a), candidates.get(b)));
+
+            Suggestion[] top = new Suggestion[Math.min(limit, size)];
+            for (int rank = 0; rank < top.length; rank++) {
+                int slot = order[rank];
+                top[rank] = new Suggestion(userId, rank, candidates.get(slot), KINDS[bestKinds[slot]], supports[slot]);
+            }
+            return top;
+        }
+    }
+}
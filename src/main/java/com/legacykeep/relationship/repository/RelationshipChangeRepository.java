@@ -0,0 +1,47 @@
+package com.legacykeep.relationship.repository;
+
+import com.legacykeep.relationship.entity.RelationshipChange;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Repository for RelationshipChange entity operations
+ */
+@Repository
+public interface RelationshipChangeRepository extends JpaRepository<RelationshipChange, Long> {
+
+    /**
+     * Oldest transaction ID still running; every change stamped below it is final
+     */
+    @Query(value = "SELECT CAST(CAST(pg_snapshot_xmin(pg_current_snapshot()) AS text) AS bigint)", nativeQuery = true)
+    long findChangeHorizon();
+
+    /**
+     * A user's final changes after the given (txid, id) position in feed order.
+     * Each row is [txid, id, relationshipId].
+     */
+    @Query(value = "SELECT c.txid, c.id, c.relationship_id FROM relationship_changes c " +
+                   "WHERE c.user_id = :userId AND (c.txid, c.id) > (:afterTxid, :afterId) " +
+                   "AND c.txid < CAST(CAST(pg_snapshot_xmin(pg_current_snapshot()) AS text) AS bigint) " +
+                   "ORDER BY c.txid, c.id LIMIT :limit",
+           nativeQuery = true)
+    List<Object[]> findUserChangesAfter(@Param("userId") Long userId,
+                                        @Param("afterTxid") long afterTxid,
+                                        @Param("afterId") long afterId,
+                                        @Param("limit") int limit);
+
+    /**
+     * Delete up to limit changes recorded before the cutoff, returning how many were deleted
+     */
+    @Modifying
+    @Query(value = "DELETE FROM relationship_changes WHERE id IN (" +
+                   "SELECT id FROM relationship_changes WHERE changed_at < :cutoff LIMIT :limit)",
+           nativeQuery = true)
+    int deleteChangedBefore(@Param("cutoff") LocalDateTime cutoff, @Param("limit") int limit);
+}
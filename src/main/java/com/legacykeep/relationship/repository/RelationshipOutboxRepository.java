@@ -0,0 +1,24 @@
+package com.legacykeep.relationship.repository;
+
+import com.legacykeep.relationship.entity.RelationshipOutboxEvent;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * Repository for RelationshipOutboxEvent entity operations
+ */
+@Repository
+public interface RelationshipOutboxRepository extends JpaRepository<RelationshipOutboxEvent, Long>, RelationshipOutboxRepositoryCustom {
+
+    /**
+     * Oldest pending events. Ids are drawn one at a time when the event is written, and
+     * writes to one relationship are serialized by its row lock, so the events of each
+     * relationship come back in commit order.
+     */
+    @Query(value = "SELECT * FROM relationship_outbox ORDER BY id LIMIT :limit", nativeQuery = true)
+    List<RelationshipOutboxEvent> findOldest(@Param("limit") int limit);
+}
@@ -0,0 +1,15 @@
+package com.legacykeep.relationship.repository;
+
+/**
+ * RelationshipOutboxEvent operations done in plain JDBC: relay locking
+ */
+public interface RelationshipOutboxRepositoryCustom {
+
+    /**
+     * Run the task while holding a session-level advisory lock, without waiting for it.
+     * The lock is held on a connection of its own for as long as the task runs.
+     *
+     * @return false if another session holds the lock and the task was not run
+     */
+    boolean runWithSessionLock(long key, Runnable task);
+}
@@ -0,0 +1,19 @@
+package com.legacykeep.relationship.repository;
+
+import com.legacykeep.relationship.util.AdvisoryLocks;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Implementation of RelationshipOutboxRepositoryCustom
+ */
+@RequiredArgsConstructor
+public class RelationshipOutboxRepositoryCustomImpl implements RelationshipOutboxRepositoryCustom {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public boolean runWithSessionLock(long key, Runnable task) {
+        return AdvisoryLocks.runWithSessionLock(jdbcTemplate, key, task);
+    }
+}
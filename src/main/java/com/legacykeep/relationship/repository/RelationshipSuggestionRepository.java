@@ -0,0 +1,35 @@
+package com.legacykeep.relationship.repository;
+
+import com.legacykeep.relationship.entity.RelationshipSuggestion;
+import com.legacykeep.relationship.entity.RelationshipSuggestionId;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Repository for RelationshipSuggestion entity operations
+ */
+@Repository
+public interface RelationshipSuggestionRepository extends JpaRepository<RelationshipSuggestion, RelationshipSuggestionId>,
+        RelationshipSuggestionRepositoryCustom {
+
+    /**
+     * A user's suggestions, best first
+     */
+    @Query("SELECT s FROM RelationshipSuggestion s WHERE s.id.userId = :userId ORDER BY s.id.rank")
+    List<RelationshipSuggestion> findByUserId(@Param("userId") Long userId);
+
+    /**
+     * Delete up to limit suggestions computed before the cutoff, returning how many were deleted
+     */
+    @Modifying
+    @Query(value = "DELETE FROM relationship_suggestions WHERE (user_id, suggestion_rank) IN (" +
+                   "SELECT user_id, suggestion_rank FROM relationship_suggestions WHERE computed_at < :cutoff LIMIT :limit)",
+           nativeQuery = true)
+    int deleteComputedBefore(@Param("cutoff") LocalDateTime cutoff, @Param("limit") int limit);
+}
@@ -0,0 +1,24 @@
+package com.legacykeep.relationship.repository;
+
+import com.legacykeep.relationship.entity.RelationshipSuggestion;
+
+import java.util.List;
+
+/**
+ * RelationshipSuggestion writes done in plain JDBC: batch replacement and job locking
+ */
+public interface RelationshipSuggestionRepositoryCustom {
+
+    /**
+     * Replace the suggestions of the given users with the given rows in one delete and one batch insert
+     */
+    void replaceForUsers(long[] userIds, List<RelationshipSuggestion> suggestions);
+
+    /**
+     * Run the task while holding a session-level advisory lock, without waiting for it.
+     * The lock is held on a connection of its own for as long as the task runs.
+     *
+     * @return false if another session holds the lock and the task was not run
+     */
+    boolean runWithSessionLock(long key, Runnable task);
+}
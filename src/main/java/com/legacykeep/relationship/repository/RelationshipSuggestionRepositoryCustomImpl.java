@@ -0,0 +1,56 @@
+package com.legacykeep.relationship.repository;
+
+import com.legacykeep.relationship.entity.RelationshipSuggestion;
+import com.legacykeep.relationship.util.AdvisoryLocks;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Array;
+import java.sql.Timestamp;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Implementation of RelationshipSuggestionRepositoryCustom.
+ * Users are deleted through one bigint array parameter and the rows are inserted as a
+ * JDBC batch, which the driver rewrites into multi-row inserts.
+ */
+@RequiredArgsConstructor
+public class RelationshipSuggestionRepositoryCustomImpl implements RelationshipSuggestionRepositoryCustom {
+
+    private static final String DELETE_FOR_USERS_SQL =
+            "DELETE FROM relationship_suggestions WHERE user_id = ANY(?)";
+
+    private static final String INSERT_SQL =
+            "INSERT INTO relationship_suggestions (user_id, suggestion_rank, suggested_user_id, kind, support, computed_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?)";
+
+    private static final int INSERT_BATCH_SIZE = 1000;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void replaceForUsers(long[] userIds, List<RelationshipSuggestion> suggestions) {
+        if (userIds.length == 0) {
+            return;
+        }
+        Long[] ids = Arrays.stream(userIds).boxed().toArray(Long[]::new);
+        jdbcTemplate.update(DELETE_FOR_USERS_SQL, ps -> {
+            Array idArray = ps.getConnection().createArrayOf("bigint", ids);
+            ps.setArray(1, idArray);
+        });
+        jdbcTemplate.batchUpdate(INSERT_SQL, suggestions, INSERT_BATCH_SIZE, (ps, suggestion) -> {
+            ps.setLong(1, suggestion.getId().getUserId());
+            ps.setInt(2, suggestion.getId().getRank());
+            ps.setLong(3, suggestion.getSuggestedUserId());
+            ps.setString(4, suggestion.getKind().name());
+            ps.setInt(5, suggestion.getSupport());
+            ps.setTimestamp(6, Timestamp.valueOf(suggestion.getComputedAt()));
+        });
+    }
+
+    @Override
+    public boolean runWithSessionLock(long key, Runnable task) {
+        return AdvisoryLocks.runWithSessionLock(jdbcTemplate, key, task);
+    }
+}
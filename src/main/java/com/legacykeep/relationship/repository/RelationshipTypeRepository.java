@@ -43,6 +43,12 @@ public interface RelationshipTypeRepository extends JpaRepository<RelationshipTy
             Boolean bidirectional
     );
 
+    /**
+     * Find all relationship types with their reverse type fetched in the same query
+     */
+    @Query("SELECT rt FROM RelationshipType rt LEFT JOIN FETCH rt.reverseType")
+    List<RelationshipType> findAllWithReverseType();
+
     /**
      * Find relationship types that have a reverse type
      */
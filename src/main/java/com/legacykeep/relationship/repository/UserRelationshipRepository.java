@@ -1,147 +1,299 @@
 package com.legacykeep.relationship.repository;
 
+import com.legacykeep.relationship.dto.RelationshipRow;
 import com.legacykeep.relationship.entity.RelationshipType;
 import com.legacykeep.relationship.entity.UserRelationship;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
- * Repository for UserRelationship entity operations
+ * Repository for UserRelationship entity operations.
+ * Per-user queries go through RelationshipEdge (one row per endpoint) and pair
+ * queries use the canonical (userLowId, userHighId) columns, so neither needs an
+ * OR across user1Id/user2Id. Every list and page query fetches relationshipType in
+ * the same select so mapping a page to responses issues no further queries.
  */
 @Repository
-public interface UserRelationshipRepository extends JpaRepository<UserRelationship, Long> {
+public interface UserRelationshipRepository extends JpaRepository<UserRelationship, Long>, UserRelationshipRepositoryCustom {
+
+    /**
+     * Rows fetched per round trip by the export streams
+     */
+    String EXPORT_FETCH_SIZE = "1000";
+
+    /**
+     * Constructor expression for RelationshipRow; ur.relationshipType.id reads the foreign key without a join
+     */
+    String ROW_SELECT = "SELECT new com.legacykeep.relationship.dto.RelationshipRow(" +
+            "ur.id, ur.user1Id, ur.user2Id, ur.relationshipType.id, ur.contextId, ur.startDate, ur.endDate, " +
+            "ur.status, ur.metadata, ur.createdAt, ur.updatedAt) ";
 
     /**
      * Find all relationships for a specific user
      */
-    @Query("SELECT ur FROM UserRelationship ur WHERE ur.user1Id = :userId OR ur.user2Id = :userId")
+    @Query("SELECT ur FROM RelationshipEdge e JOIN e.relationship ur JOIN FETCH ur.relationshipType WHERE e.id.userId = :userId")
     List<UserRelationship> findByUserId(@Param("userId") Long userId);
 
     /**
      * Find all relationships for a specific user with pagination
      */
-    @Query("SELECT ur FROM UserRelationship ur WHERE ur.user1Id = :userId OR ur.user2Id = :userId")
+    @Query(value = "SELECT ur FROM RelationshipEdge e JOIN e.relationship ur JOIN FETCH ur.relationshipType WHERE e.id.userId = :userId",
+           countQuery = "SELECT COUNT(e) FROM RelationshipEdge e WHERE e.id.userId = :userId")
     Page<UserRelationship> findByUserId(@Param("userId") Long userId, Pageable pageable);
 
+    /**
+     * Find a relationship by ID together with its type
+     */
+    @Query("SELECT ur FROM UserRelationship ur JOIN FETCH ur.relationshipType WHERE ur.id = :id")
+    Optional<UserRelationship> findByIdWithType(@Param("id") Long id);
+
     /**
      * Find relationships between two specific users
      */
-    @Query("SELECT ur FROM UserRelationship ur WHERE " +
-           "(ur.user1Id = :user1Id AND ur.user2Id = :user2Id) OR " +
-           "(ur.user1Id = :user2Id AND ur.user2Id = :user1Id)")
+    @Query("SELECT ur FROM UserRelationship ur JOIN FETCH ur.relationshipType WHERE " +
+           "ur.userLowId = least(:user1Id, :user2Id) AND ur.userHighId = greatest(:user1Id, :user2Id)")
     List<UserRelationship> findRelationshipsBetweenUsers(@Param("user1Id") Long user1Id, @Param("user2Id") Long user2Id);
 
     /**
      * Find active relationships between two specific users
      */
-    @Query("SELECT ur FROM UserRelationship ur WHERE " +
-           "((ur.user1Id = :user1Id AND ur.user2Id = :user2Id) OR " +
-           "(ur.user1Id = :user2Id AND ur.user2Id = :user1Id)) AND " +
+    @Query("SELECT ur FROM UserRelationship ur JOIN FETCH ur.relationshipType WHERE " +
+           "ur.userLowId = least(:user1Id, :user2Id) AND ur.userHighId = greatest(:user1Id, :user2Id) AND " +
            "ur.status = 'ACTIVE'")
     List<UserRelationship> findActiveRelationshipsBetweenUsers(@Param("user1Id") Long user1Id, @Param("user2Id") Long user2Id);
 
+    /**
+     * Project the relationships between two users into rows
+     */
+    @Query(ROW_SELECT + "FROM UserRelationship ur WHERE " +
+           "ur.userLowId = least(:user1Id, :user2Id) AND ur.userHighId = greatest(:user1Id, :user2Id)")
+    List<RelationshipRow> findRowsBetweenUsers(@Param("user1Id") Long user1Id, @Param("user2Id") Long user2Id);
+
+    /**
+     * Project the active relationships between two users into rows
+     */
+    @Query(ROW_SELECT + "FROM UserRelationship ur WHERE " +
+           "ur.userLowId = least(:user1Id, :user2Id) AND ur.userHighId = greatest(:user1Id, :user2Id) AND " +
+           "ur.status = 'ACTIVE'")
+    List<RelationshipRow> findActiveRowsBetweenUsers(@Param("user1Id") Long user1Id, @Param("user2Id") Long user2Id);
+
+    /**
+     * Project a single relationship into a row
+     */
+    @Query(ROW_SELECT + "FROM UserRelationship ur WHERE ur.id = :id")
+    Optional<RelationshipRow> findRowById(@Param("id") Long id);
+
+    /**
+     * Project the given relationships into rows; IDs that no longer exist are absent
+     */
+    @Query(ROW_SELECT + "FROM UserRelationship ur WHERE ur.id IN :ids")
+    List<RelationshipRow> findRowsByIdIn(@Param("ids") Collection<Long> ids);
+
     /**
      * Find relationships by status
      */
+    @EntityGraph(attributePaths = "relationshipType")
     List<UserRelationship> findByStatus(UserRelationship.RelationshipStatus status);
 
     /**
      * Find relationships by status with pagination
      */
+    @EntityGraph(attributePaths = "relationshipType")
     Page<UserRelationship> findByStatus(UserRelationship.RelationshipStatus status, Pageable pageable);
 
     /**
      * Find relationships by relationship type
      */
+    @EntityGraph(attributePaths = "relationshipType")
     List<UserRelationship> findByRelationshipType(RelationshipType relationshipType);
 
     /**
      * Find relationships by relationship type with pagination
      */
+    @EntityGraph(attributePaths = "relationshipType")
     Page<UserRelationship> findByRelationshipType(RelationshipType relationshipType, Pageable pageable);
 
     /**
      * Find relationships by user and relationship type
      */
-    @Query("SELECT ur FROM UserRelationship ur WHERE " +
-           "(ur.user1Id = :userId OR ur.user2Id = :userId) AND " +
-           "ur.relationshipType = :relationshipType")
+    @Query("SELECT ur FROM RelationshipEdge e JOIN e.relationship ur JOIN FETCH ur.relationshipType WHERE " +
+           "e.id.userId = :userId AND ur.relationshipType = :relationshipType")
     List<UserRelationship> findByUserIdAndRelationshipType(@Param("userId") Long userId, @Param("relationshipType") RelationshipType relationshipType);
 
     /**
      * Find relationships by user and status
      */
-    @Query("SELECT ur FROM UserRelationship ur WHERE " +
-           "(ur.user1Id = :userId OR ur.user2Id = :userId) AND " +
-           "ur.status = :status")
+    @Query("SELECT ur FROM RelationshipEdge e JOIN e.relationship ur JOIN FETCH ur.relationshipType WHERE " +
+           "e.id.userId = :userId AND ur.status = :status")
     List<UserRelationship> findByUserIdAndStatus(@Param("userId") Long userId, @Param("status") UserRelationship.RelationshipStatus status);
 
     /**
      * Find relationships by user and status with pagination
      */
-    @Query("SELECT ur FROM UserRelationship ur WHERE " +
-           "(ur.user1Id = :userId OR ur.user2Id = :userId) AND " +
-           "ur.status = :status")
+    @Query(value = "SELECT ur FROM RelationshipEdge e JOIN e.relationship ur JOIN FETCH ur.relationshipType WHERE " +
+                   "e.id.userId = :userId AND ur.status = :status",
+           countQuery = "SELECT COUNT(e) FROM RelationshipEdge e JOIN e.relationship ur WHERE " +
+                        "e.id.userId = :userId AND ur.status = :status")
     Page<UserRelationship> findByUserIdAndStatus(@Param("userId") Long userId, @Param("status") UserRelationship.RelationshipStatus status, Pageable pageable);
 
     /**
      * Find relationships by context ID
      */
+    @EntityGraph(attributePaths = "relationshipType")
     List<UserRelationship> findByContextId(Long contextId);
 
     /**
      * Find relationships by date range
      */
-    @Query("SELECT ur FROM UserRelationship ur WHERE " +
+    @Query("SELECT ur FROM UserRelationship ur JOIN FETCH ur.relationshipType WHERE " +
            "ur.startDate BETWEEN :startDate AND :endDate OR " +
            "ur.endDate BETWEEN :startDate AND :endDate OR " +
            "(ur.startDate <= :startDate AND (ur.endDate IS NULL OR ur.endDate >= :endDate))")
     List<UserRelationship> findByDateRange(@Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate);
 
     /**
-     * Find relationships that are currently active (no end date or end date in future)
+     * Find relationships that are currently active; expired ones are moved to ENDED by the expiry job
      */
-    @Query("SELECT ur FROM UserRelationship ur WHERE " +
-           "ur.status = 'ACTIVE' AND " +
-           "(ur.endDate IS NULL OR ur.endDate >= CURRENT_DATE)")
+    @Query("SELECT ur FROM UserRelationship ur JOIN FETCH ur.relationshipType WHERE ur.status = 'ACTIVE'")
     List<UserRelationship> findCurrentlyActiveRelationships();
 
+    /**
+     * Stream every relationship through a server-side cursor for export.
+     * Streaming methods must be consumed inside a transaction and closed afterwards.
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = EXPORT_FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT ur FROM UserRelationship ur ORDER BY ur.id")
+    Stream<UserRelationship> streamAll();
+
+    /**
+     * Stream relationships by status for export
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = EXPORT_FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT ur FROM UserRelationship ur WHERE ur.status = :status ORDER BY ur.id")
+    Stream<UserRelationship> streamByStatus(@Param("status") UserRelationship.RelationshipStatus status);
+
+    /**
+     * Stream relationships by relationship type for export
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = EXPORT_FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT ur FROM UserRelationship ur WHERE ur.relationshipType.id = :relationshipTypeId ORDER BY ur.id")
+    Stream<UserRelationship> streamByRelationshipTypeId(@Param("relationshipTypeId") Long relationshipTypeId);
+
+    /**
+     * Stream relationships by date range for export
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = EXPORT_FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT ur FROM UserRelationship ur WHERE " +
+           "ur.startDate BETWEEN :startDate AND :endDate OR " +
+           "ur.endDate BETWEEN :startDate AND :endDate OR " +
+           "(ur.startDate <= :startDate AND (ur.endDate IS NULL OR ur.endDate >= :endDate)) " +
+           "ORDER BY ur.id")
+    Stream<UserRelationship> streamByDateRange(@Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate);
+
+    /**
+     * Stream currently active relationships for export
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = EXPORT_FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT ur FROM UserRelationship ur WHERE ur.status = 'ACTIVE' ORDER BY ur.id")
+    Stream<UserRelationship> streamCurrentlyActiveRelationships();
+
     /**
      * Count relationships for a user
      */
-    @Query("SELECT COUNT(ur) FROM UserRelationship ur WHERE ur.user1Id = :userId OR ur.user2Id = :userId")
+    @Query("SELECT COUNT(e) FROM RelationshipEdge e WHERE e.id.userId = :userId")
     long countByUserId(@Param("userId") Long userId);
 
     /**
      * Count active relationships for a user
      */
-    @Query("SELECT COUNT(ur) FROM UserRelationship ur WHERE " +
-           "(ur.user1Id = :userId OR ur.user2Id = :userId) AND " +
-           "ur.status = 'ACTIVE'")
+    @Query("SELECT COUNT(e) FROM RelationshipEdge e JOIN e.relationship ur WHERE " +
+           "e.id.userId = :userId AND ur.status = 'ACTIVE'")
     long countActiveByUserId(@Param("userId") Long userId);
 
+    /**
+     * Count a user's relationships grouped by status and relationship type in one pass over the edge table.
+     * Each row is [status, relationshipTypeId, count]; types are folded into categories by the caller.
+     */
+    @Query("SELECT ur.status, ur.relationshipType.id, COUNT(e) FROM RelationshipEdge e JOIN e.relationship ur WHERE " +
+           "e.id.userId = :userId GROUP BY ur.status, ur.relationshipType.id")
+    List<Object[]> countByUserIdGroupedByStatusAndType(@Param("userId") Long userId);
+
     /**
      * Check if a relationship exists between two users
      */
     @Query("SELECT COUNT(ur) > 0 FROM UserRelationship ur WHERE " +
-           "(ur.user1Id = :user1Id AND ur.user2Id = :user2Id) OR " +
-           "(ur.user1Id = :user2Id AND ur.user2Id = :user1Id)")
+           "ur.userLowId = least(:user1Id, :user2Id) AND ur.userHighId = greatest(:user1Id, :user2Id)")
     boolean existsBetweenUsers(@Param("user1Id") Long user1Id, @Param("user2Id") Long user2Id);
 
     /**
      * Check if an active relationship exists between two users
      */
     @Query("SELECT COUNT(ur) > 0 FROM UserRelationship ur WHERE " +
-           "((ur.user1Id = :user1Id AND ur.user2Id = :user2Id) OR " +
-           "(ur.user1Id = :user2Id AND ur.user2Id = :user1Id)) AND " +
+           "ur.userLowId = least(:user1Id, :user2Id) AND ur.userHighId = greatest(:user1Id, :user2Id) AND " +
            "ur.status = 'ACTIVE'")
     boolean existsActiveBetweenUsers(@Param("user1Id") Long user1Id, @Param("user2Id") Long user2Id);
+
+    /**
+     * Walk parent/child relationships up and down from a user in one recursive query.
+     * A relationship whose type is in parentTypeIds makes user1 the parent of user2; any
+     * other type in familyTypeIds (the reverse pairing) makes user1 the child of user2.
+     * Each row is [userId, parentUserId, childUserId, relationshipId, relationshipTypeId, generation]
+     * with positive generations above the user and negative ones below.
+     */
+    @Query(value = "WITH RECURSIVE tree(user_id, parent_user_id, child_user_id, relationship_id, " +
+                   "relationship_type_id, direction, generation, path) AS ( " +
+                   "  SELECT CAST(:userId AS BIGINT), CAST(NULL AS BIGINT), CAST(NULL AS BIGINT), CAST(NULL AS BIGINT), " +
+                   "         CAST(NULL AS BIGINT), d.direction, 0, ARRAY[CAST(:userId AS BIGINT)] " +
+                   "  FROM (VALUES (1), (-1)) AS d(direction) " +
+                   "  UNION ALL " +
+                   "  SELECT e.other_user_id, " +
+                   "         CASE WHEN t.direction = 1 THEN e.other_user_id ELSE t.user_id END, " +
+                   "         CASE WHEN t.direction = 1 THEN t.user_id ELSE e.other_user_id END, " +
+                   "         ur.id, ur.relationship_type_id, t.direction, t.generation + 1, t.path || e.other_user_id " +
+                   "  FROM tree t " +
+                   "  JOIN user_relationship_edges e ON e.user_id = t.user_id " +
+                   "  JOIN user_relationships ur ON ur.id = e.relationship_id " +
+                   "  WHERE t.generation < :depth " +
+                   "    AND ur.relationship_type_id IN (:familyTypeIds) " +
+                   "    AND (CASE WHEN (ur.relationship_type_id IN (:parentTypeIds)) = (ur.user1_id = e.other_user_id) " +
+                   "         THEN 1 ELSE -1 END) = t.direction " +
+                   "    AND e.other_user_id <> ALL(t.path) " +
+                   ") " +
+                   "SELECT user_id, parent_user_id, child_user_id, relationship_id, relationship_type_id, " +
+                   "       direction * generation AS generation " +
+                   "FROM tree WHERE generation > 0 ORDER BY generation",
+           nativeQuery = true)
+    List<Object[]> findFamilyTree(@Param("userId") Long userId,
+                                  @Param("depth") int depth,
+                                  @Param("parentTypeIds") Collection<Long> parentTypeIds,
+                                  @Param("familyTypeIds") Collection<Long> familyTypeIds);
 }
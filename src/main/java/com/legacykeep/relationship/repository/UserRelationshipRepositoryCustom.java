@@ -0,0 +1,71 @@
+package com.legacykeep.relationship.repository;
+
+import com.legacykeep.relationship.dto.RelationshipCursor;
+import com.legacykeep.relationship.dto.RelationshipRow;
+import com.legacykeep.relationship.entity.RelationshipEdge;
+import com.legacykeep.relationship.entity.UserRelationship;
+import com.legacykeep.relationship.util.UserPair;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * UserRelationship queries Spring Data cannot derive: set-based lookups in plain JDBC
+ * and filtered row projections built with the Criteria API
+ */
+public interface UserRelationshipRepositoryCustom {
+
+    /**
+     * Of the given pairs, return those that have at least one relationship, in a single query
+     */
+    Set<UserPair> findExistingPairs(Collection<UserPair> pairs, boolean activeOnly);
+
+    /**
+     * Insert a relationship and its two edges in one statement unless the pair already has one.
+     * On success the generated ID and timestamps are set on the given relationship.
+     *
+     * @return false if a relationship between the two users already exists
+     */
+    boolean insertIfPairAbsent(UserRelationship relationship);
+
+    /**
+     * Apply the non-null fields to a relationship in one UPDATE, without loading it first
+     *
+     * @return the updated row, or empty if no relationship has the ID
+     */
+    Optional<RelationshipRow> updateAndReturn(Long id, UserRelationship.RelationshipStatus status,
+                                              LocalDate endDate, String metadata);
+
+    /**
+     * Delete a relationship in one statement; its edges go with it through the cascading foreign key
+     *
+     * @return the deleted row, or empty if no relationship has the ID
+     */
+    Optional<RelationshipRow> deleteAndReturn(Long id);
+
+    /**
+     * Mark up to limit active relationships whose end date is before the given day as ENDED.
+     * Rows locked by another transaction are skipped, so several instances can run this at once.
+     *
+     * @return the ended rows
+     */
+    List<RelationshipRow> endExpired(LocalDate today, int limit);
+
+    /**
+     * Project the relationships matching a specification into a page of rows ordered by ID.
+     * The page request's sort is ignored.
+     */
+    Page<RelationshipRow> findRows(Specification<RelationshipEdge> spec, Pageable pageable);
+
+    /**
+     * Project up to limit relationships matching a specification into rows in keyset order.
+     * No count query is issued.
+     */
+    List<RelationshipRow> findRows(Specification<RelationshipEdge> spec, RelationshipCursor.SortKey sortKey, int limit);
+}
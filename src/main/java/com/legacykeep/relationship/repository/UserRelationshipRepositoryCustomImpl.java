@@ -0,0 +1,248 @@
+package com.legacykeep.relationship.repository;
+
+import com.legacykeep.relationship.dto.RelationshipCursor;
+import com.legacykeep.relationship.dto.RelationshipRow;
+import com.legacykeep.relationship.entity.RelationshipEdge;
+import com.legacykeep.relationship.entity.UserRelationship;
+import com.legacykeep.relationship.util.UserPair;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.generator.BeforeExecutionGenerator;
+import org.hibernate.generator.EventType;
+import org.hibernate.generator.Generator;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.support.PageableExecutionUtils;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.RowMapper;
+
+import java.sql.Array;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Implementation of UserRelationshipRepositoryCustom.
+ * Pairs are passed as two bigint arrays and joined through unnest, so the statement
+ * and its plan stay the same no matter how many pairs are checked. Single creates rely
+ * on the unique pair index instead of a prior existence check, and updates and deletes
+ * are single statements that return the affected row. Row projections
+ * select straight into RelationshipRow; the count query is built from a fresh root, so
+ * it only joins the relationship when a filter needs it.
+ */
+@RequiredArgsConstructor
+public class UserRelationshipRepositoryCustomImpl implements UserRelationshipRepositoryCustom {
+
+    private static final String EXISTING_PAIRS_SQL =
+            "SELECT DISTINCT ur.user_low_id, ur.user_high_id " +
+            "FROM unnest(?, ?) AS p(low_id, high_id) " +
+            "JOIN user_relationships ur ON ur.user_low_id = p.low_id AND ur.user_high_id = p.high_id";
+
+    /**
+     * The id is drawn from the entity's own generator, so it comes out of the same pooled
+     * blocks as ids assigned by Hibernate and never collides with them
+     */
+    private static final String INSERT_IF_PAIR_ABSENT_SQL =
+            "WITH inserted AS (" +
+            "  INSERT INTO user_relationships (id, user1_id, user2_id, user_low_id, user_high_id, relationship_type_id, " +
+            "    context_id, start_date, end_date, status, metadata, created_at, updated_at) " +
+            "  VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, CAST(? AS jsonb), ?, ?) " +
+            "  ON CONFLICT (user_low_id, user_high_id) DO NOTHING " +
+            "  RETURNING id, user1_id, user2_id" +
+            "), edges AS (" +
+            "  INSERT INTO user_relationship_edges (user_id, relationship_id, other_user_id) " +
+            "  SELECT user1_id, id, user2_id FROM inserted " +
+            "  UNION ALL SELECT user2_id, id, user1_id FROM inserted" +
+            ") " +
+            "SELECT id FROM inserted";
+
+    private static final String RETURNING_ROW =
+            " RETURNING id, user1_id, user2_id, relationship_type_id, context_id, start_date, end_date, " +
+            "status, metadata, created_at, updated_at";
+
+    private static final String UPDATE_RETURNING_SQL =
+            "UPDATE user_relationships SET " +
+            "status = COALESCE(CAST(? AS varchar), status), " +
+            "end_date = COALESCE(CAST(? AS date), end_date), " +
+            "metadata = COALESCE(CAST(? AS jsonb), metadata), " +
+            "updated_at = ? " +
+            "WHERE id = ?" + RETURNING_ROW;
+
+    private static final String DELETE_RETURNING_SQL =
+            "DELETE FROM user_relationships WHERE id = ?" + RETURNING_ROW;
+
+    private static final String END_EXPIRED_SQL =
+            "UPDATE user_relationships SET status = 'ENDED', updated_at = ? " +
+            "WHERE id IN (" +
+            "  SELECT id FROM user_relationships WHERE status = 'ACTIVE' AND end_date < ? " +
+            "  LIMIT ? FOR UPDATE SKIP LOCKED)" + RETURNING_ROW;
+
+    private static final RowMapper<RelationshipRow> RELATIONSHIP_ROW_MAPPER = (rs, rowNum) -> new RelationshipRow(
+            rs.getLong("id"),
+            rs.getLong("user1_id"),
+            rs.getLong("user2_id"),
+            rs.getLong("relationship_type_id"),
+            rs.getObject("context_id", Long.class),
+            rs.getObject("start_date", LocalDate.class),
+            rs.getObject("end_date", LocalDate.class),
+            UserRelationship.RelationshipStatus.valueOf(rs.getString("status")),
+            rs.getString("metadata"),
+            rs.getObject("created_at", LocalDateTime.class),
+            rs.getObject("updated_at", LocalDateTime.class));
+
+    private final JdbcTemplate jdbcTemplate;
+    private final EntityManager entityManager;
+
+    @Override
+    public Set<UserPair> findExistingPairs(Collection<UserPair> pairs, boolean activeOnly) {
+        Set<UserPair> existing = new HashSet<>();
+        if (pairs.isEmpty()) {
+            return existing;
+        }
+
+        Long[] lows = new Long[pairs.size()];
+        Long[] highs = new Long[pairs.size()];
+        int i = 0;
+        for (UserPair pair : pairs) {
+            lows[i] = pair.lowId();
+            highs[i] = pair.highId();
+            i++;
+        }
+
+        String sql = activeOnly ? EXISTING_PAIRS_SQL + " WHERE ur.status = 'ACTIVE'" : EXISTING_PAIRS_SQL;
+        jdbcTemplate.query(sql, ps -> {
+            Array lowArray = ps.getConnection().createArrayOf("bigint", lows);
+            Array highArray = ps.getConnection().createArrayOf("bigint", highs);
+            ps.setArray(1, lowArray);
+            ps.setArray(2, highArray);
+        }, (RowCallbackHandler) rs -> existing.add(new UserPair(rs.getLong(1), rs.getLong(2))));
+        return existing;
+    }
+
+    @Override
+    public boolean insertIfPairAbsent(UserRelationship relationship) {
+        LocalDateTime now = LocalDateTime.now();
+        List<Long> ids = jdbcTemplate.query(INSERT_IF_PAIR_ABSENT_SQL, (rs, rowNum) -> rs.getLong(1),
+                nextId(relationship),
+                relationship.getUser1Id(),
+                relationship.getUser2Id(),
+                Math.min(relationship.getUser1Id(), relationship.getUser2Id()),
+                Math.max(relationship.getUser1Id(), relationship.getUser2Id()),
+                relationship.getRelationshipType().getId(),
+                relationship.getContextId(),
+                relationship.getStartDate(),
+                relationship.getEndDate(),
+                relationship.getStatus().name(),
+                relationship.getMetadata(),
+                now,
+                now);
+        if (ids.isEmpty()) {
+            return false;
+        }
+        relationship.setId(ids.get(0));
+        relationship.setUserLowId(Math.min(relationship.getUser1Id(), relationship.getUser2Id()));
+        relationship.setUserHighId(Math.max(relationship.getUser1Id(), relationship.getUser2Id()));
+        relationship.setCreatedAt(now);
+        relationship.setUpdatedAt(now);
+        return true;
+    }
+
+    /**
+     * Next id from the generator Hibernate uses for UserRelationship, honouring its pooled optimizer
+     */
+    private Long nextId(UserRelationship relationship) {
+        SharedSessionContractImplementor session = entityManager.unwrap(SharedSessionContractImplementor.class);
+        Generator generator = session.getFactory().getMappingMetamodel()
+                .getEntityDescriptor(UserRelationship.class)
+                .getGenerator();
+        return (Long) ((BeforeExecutionGenerator) generator).generate(session, relationship, null, EventType.INSERT);
+    }
+
+    @Override
+    public Optional<RelationshipRow> updateAndReturn(Long id, UserRelationship.RelationshipStatus status,
+                                                     LocalDate endDate, String metadata) {
+        return jdbcTemplate.query(UPDATE_RETURNING_SQL, RELATIONSHIP_ROW_MAPPER,
+                status != null ? status.name() : null, endDate, metadata, LocalDateTime.now(), id)
+                .stream().findFirst();
+    }
+
+    @Override
+    public Optional<RelationshipRow> deleteAndReturn(Long id) {
+        return jdbcTemplate.query(DELETE_RETURNING_SQL, RELATIONSHIP_ROW_MAPPER, id).stream().findFirst();
+    }
+
+    @Override
+    public List<RelationshipRow> endExpired(LocalDate today, int limit) {
+        return jdbcTemplate.query(END_EXPIRED_SQL, RELATIONSHIP_ROW_MAPPER, LocalDateTime.now(), today, limit);
+    }
+
+    @Override
+    public Page<RelationshipRow> findRows(Specification<RelationshipEdge> spec, Pageable pageable) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<RelationshipRow> query = cb.createQuery(RelationshipRow.class);
+        Root<RelationshipEdge> root = query.from(RelationshipEdge.class);
+        selectRows(cb, query, root, spec);
+        query.orderBy(cb.asc(root.get("id").get("relationshipId")));
+
+        if (pageable.isUnpaged()) {
+            return new PageImpl<>(entityManager.createQuery(query).getResultList());
+        }
+        List<RelationshipRow> rows = entityManager.createQuery(query)
+                .setFirstResult((int) pageable.getOffset())
+                .setMaxResults(pageable.getPageSize())
+                .getResultList();
+        return PageableExecutionUtils.getPage(rows, pageable, () -> count(cb, spec));
+    }
+
+    @Override
+    public List<RelationshipRow> findRows(Specification<RelationshipEdge> spec, RelationshipCursor.SortKey sortKey, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<RelationshipRow> query = cb.createQuery(RelationshipRow.class);
+        Root<RelationshipEdge> root = query.from(RelationshipEdge.class);
+        selectRows(cb, query, root, spec);
+        if (sortKey == RelationshipCursor.SortKey.CREATED_AT) {
+            Join<RelationshipEdge, UserRelationship> relationship = UserRelationshipSpecifications.relationship(root);
+            query.orderBy(cb.asc(relationship.get("createdAt")), cb.asc(relationship.get("id")));
+        } else {
+            query.orderBy(cb.asc(root.get("id").get("relationshipId")));
+        }
+        return entityManager.createQuery(query).setMaxResults(limit).getResultList();
+    }
+
+    private void selectRows(CriteriaBuilder cb, CriteriaQuery<RelationshipRow> query, Root<RelationshipEdge> root,
+                            Specification<RelationshipEdge> spec) {
+        Join<RelationshipEdge, UserRelationship> ur = UserRelationshipSpecifications.relationship(root);
+        query.select(cb.construct(RelationshipRow.class,
+                ur.get("id"), ur.get("user1Id"), ur.get("user2Id"), ur.get("relationshipType").get("id"),
+                ur.get("contextId"), ur.get("startDate"), ur.get("endDate"), ur.get("status"),
+                ur.get("metadata"), ur.get("createdAt"), ur.get("updatedAt")));
+        Predicate predicate = spec.toPredicate(root, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+    }
+
+    private long count(CriteriaBuilder cb, Specification<RelationshipEdge> spec) {
+        CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        Root<RelationshipEdge> root = query.from(RelationshipEdge.class);
+        query.select(cb.count(root));
+        Predicate predicate = spec.toPredicate(root, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        return entityManager.createQuery(query).getSingleResult();
+    }
+}
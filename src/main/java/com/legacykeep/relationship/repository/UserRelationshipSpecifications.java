@@ -0,0 +1,84 @@
+package com.legacykeep.relationship.repository;
+
+import com.legacykeep.relationship.entity.RelationshipEdge;
+import com.legacykeep.relationship.entity.UserRelationship;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Root;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+
+/**
+ * Specifications for listing a user's relationships.
+ * They are rooted at RelationshipEdge, like the per-user JPQL queries, so the user
+ * predicate is a range scan on the edge primary key. The relationship is joined only
+ * when a filter needs one of its columns, and every filter shares that single join.
+ */
+public final class UserRelationshipSpecifications {
+
+    private UserRelationshipSpecifications() {
+    }
+
+    /**
+     * Relationships the user takes part in
+     */
+    public static Specification<RelationshipEdge> forUser(Long userId) {
+        return (root, query, cb) -> cb.equal(root.get("id").get("userId"), userId);
+    }
+
+    /**
+     * Relationships with the given status
+     */
+    public static Specification<RelationshipEdge> hasStatus(UserRelationship.RelationshipStatus status) {
+        return (root, query, cb) -> cb.equal(relationship(root).get("status"), status);
+    }
+
+    /**
+     * Relationships of one of the given types
+     */
+    public static Specification<RelationshipEdge> hasRelationshipTypeIn(Collection<Long> relationshipTypeIds) {
+        return (root, query, cb) -> relationship(root).get("relationshipType").get("id").in(relationshipTypeIds);
+    }
+
+    /**
+     * Relationships in the given context
+     */
+    public static Specification<RelationshipEdge> hasContextId(Long contextId) {
+        return (root, query, cb) -> cb.equal(relationship(root).get("contextId"), contextId);
+    }
+
+    /**
+     * Relationships after the given ID, for keyset pages ordered by ID
+     */
+    public static Specification<RelationshipEdge> afterId(Long afterId) {
+        return (root, query, cb) -> cb.greaterThan(root.get("id").get("relationshipId"), afterId);
+    }
+
+    /**
+     * Relationships after the given (createdAt, id) position, for keyset pages ordered by creation time
+     */
+    public static Specification<RelationshipEdge> afterCreatedAt(LocalDateTime afterCreatedAt, Long afterId) {
+        return (root, query, cb) -> {
+            Join<RelationshipEdge, UserRelationship> relationship = relationship(root);
+            return cb.or(
+                    cb.greaterThan(relationship.get("createdAt"), afterCreatedAt),
+                    cb.and(cb.equal(relationship.get("createdAt"), afterCreatedAt),
+                            cb.greaterThan(relationship.get("id"), afterId)));
+        };
+    }
+
+    /**
+     * The edge's relationship, joining it on first use
+     */
+    @SuppressWarnings("unchecked")
+    static Join<RelationshipEdge, UserRelationship> relationship(Root<RelationshipEdge> root) {
+        for (Join<RelationshipEdge, ?> join : root.getJoins()) {
+            if (join.getAttribute().getName().equals("relationship")) {
+                return (Join<RelationshipEdge, UserRelationship>) join;
+            }
+        }
+        return root.join("relationship", JoinType.INNER);
+    }
+}
@@ -0,0 +1,14 @@
+package com.legacykeep.relationship.service;
+
+import com.legacykeep.relationship.dto.response.FamilyTreeResponse;
+
+/**
+ * Service interface for family tree queries
+ */
+public interface FamilyTreeService {
+
+    /**
+     * Get the ancestors and descendants of a user up to the given number of generations
+     */
+    FamilyTreeResponse getFamilyTree(Long userId, int depth);
+}
@@ -0,0 +1,26 @@
+package com.legacykeep.relationship.service;
+
+import com.legacykeep.relationship.gedcom.GedcomImportJob;
+import com.legacykeep.relationship.gedcom.GedcomXrefMapping;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Optional;
+
+/**
+ * Service interface for importing relationships from GEDCOM files
+ */
+public interface GedcomImportService {
+
+    /**
+     * Spool the uploaded GEDCOM content to disk and start importing it in the background.
+     * Individuals map to users only through the given mapping; the import fails without
+     * writing anything if a family links an individual the mapping does not cover.
+     */
+    GedcomImportJob startImport(InputStream content, GedcomXrefMapping mapping) throws IOException;
+
+    /**
+     * Get an import job by ID
+     */
+    Optional<GedcomImportJob> getJob(String jobId);
+}
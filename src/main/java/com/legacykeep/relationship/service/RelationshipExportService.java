@@ -0,0 +1,18 @@
+package com.legacykeep.relationship.service;
+
+import com.legacykeep.relationship.dto.request.RelationshipExportRequest;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Service interface for bulk relationship exports
+ */
+public interface RelationshipExportService {
+
+    /**
+     * Stream every matching relationship to the output in the requested format,
+     * returning the number of rows written
+     */
+    long exportRelationships(RelationshipExportRequest request, OutputStream out) throws IOException;
+}
@@ -0,0 +1,29 @@
+package com.legacykeep.relationship.service;
+
+import com.legacykeep.relationship.dto.response.CommonConnectionsResponse;
+import com.legacykeep.relationship.dto.response.RelationshipPathResponse;
+import com.legacykeep.relationship.entity.RelationshipType;
+
+import java.util.Collection;
+
+/**
+ * Service interface for traversal queries over the in-memory relationship graph
+ */
+public interface RelationshipGraphService {
+
+    /**
+     * Find the shortest chain of relationships connecting two users, optionally
+     * restricted to categories and to active relationships
+     */
+    RelationshipPathResponse findPath(Long user1Id, Long user2Id,
+                                      Collection<RelationshipType.RelationshipCategory> categories,
+                                      boolean activeOnly, Integer maxDepth);
+
+    /**
+     * Find the users related to both users, optionally restricted to categories and to
+     * active relationships
+     */
+    CommonConnectionsResponse findCommonConnections(Long user1Id, Long user2Id,
+                                                    Collection<RelationshipType.RelationshipCategory> categories,
+                                                    boolean activeOnly);
+}
@@ -0,0 +1,19 @@
+package com.legacykeep.relationship.service;
+
+import com.legacykeep.relationship.dto.response.RelationshipSuggestionsResponse;
+
+/**
+ * Service interface for "possibly related" suggestions
+ */
+public interface RelationshipSuggestionService {
+
+    /**
+     * Get a user's precomputed suggestions, best first
+     */
+    RelationshipSuggestionsResponse getSuggestions(Long userId);
+
+    /**
+     * Recompute every user's suggestions from the relationship graph
+     */
+    void refreshSuggestions();
+}
@@ -1,10 +1,19 @@
 package com.legacykeep.relationship.service;
 
+import com.legacykeep.relationship.dto.RelationshipChangeCursor;
+import com.legacykeep.relationship.dto.RelationshipCursor;
+import com.legacykeep.relationship.dto.request.BatchRelationshipExistsRequest;
 import com.legacykeep.relationship.dto.request.CreateRelationshipRequest;
+import com.legacykeep.relationship.dto.request.RelationshipFilterRequest;
 import com.legacykeep.relationship.dto.request.UpdateRelationshipRequest;
+import com.legacykeep.relationship.dto.response.BulkCreateRelationshipResponse;
+import com.legacykeep.relationship.dto.response.RelationshipChangesResponse;
+import com.legacykeep.relationship.dto.response.UserRelationshipResponse;
+import com.legacykeep.relationship.dto.response.UserRelationshipStatsResponse;
 import com.legacykeep.relationship.entity.UserRelationship;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 
 import java.util.List;
 import java.util.Optional;
@@ -49,6 +58,34 @@ public interface UserRelationshipService {
      */
     List<UserRelationship> getActiveRelationshipsBetweenUsers(Long user1Id, Long user2Id);
 
+    /**
+     * Get a page of a user's relationships matching the filter, projected straight into responses
+     */
+    Page<UserRelationshipResponse> getUserRelationshipResponses(Long userId, RelationshipFilterRequest filter,
+                                                                Pageable pageable);
+
+    /**
+     * Keyset page of a user's relationships matching the filter, projected straight into responses
+     */
+    Slice<UserRelationshipResponse> getUserRelationshipResponsesAfter(Long userId, RelationshipFilterRequest filter,
+                                                                      RelationshipCursor cursor, int size);
+
+    /**
+     * Get the relationships between two users projected straight into responses
+     */
+    List<UserRelationshipResponse> getRelationshipResponsesBetweenUsers(Long user1Id, Long user2Id, boolean activeOnly);
+
+    /**
+     * Get a relationship by ID projected straight into a response
+     */
+    Optional<UserRelationshipResponse> getRelationshipResponseById(Long id);
+
+    /**
+     * Get up to limit of a user's relationship changes after the cursor; a null cursor
+     * returns no changes and a cursor at the current position
+     */
+    RelationshipChangesResponse getUserRelationshipChanges(Long userId, RelationshipChangeCursor since, int limit);
+
     /**
      * Get relationship by ID
      */
@@ -59,6 +96,11 @@ public interface UserRelationshipService {
      */
     UserRelationship createRelationship(CreateRelationshipRequest request);
 
+    /**
+     * Create many relationships at once, reporting a result for every item
+     */
+    BulkCreateRelationshipResponse createRelationships(List<CreateRelationshipRequest> requests);
+
     /**
      * Update an existing relationship
      */
@@ -79,6 +121,11 @@ public interface UserRelationshipService {
      */
     boolean activeRelationshipExistsBetweenUsers(Long user1Id, Long user2Id);
 
+    /**
+     * Check many user pairs for relationships with one query, returning answers in request order
+     */
+    boolean[] relationshipsExistBetweenUsers(List<BatchRelationshipExistsRequest.Pair> pairs, boolean activeOnly);
+
     /**
      * Count relationships for a user
      */
@@ -88,4 +135,9 @@ public interface UserRelationshipService {
      * Count active relationships for a user
      */
     long countActiveUserRelationships(Long userId);
+
+    /**
+     * Get a user's relationship counts broken down by every status and category, using a single query
+     */
+    UserRelationshipStatsResponse getUserRelationshipStats(Long userId);
 }
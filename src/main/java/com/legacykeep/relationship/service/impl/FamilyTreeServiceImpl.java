@@ -0,0 +1,114 @@
+package com.legacykeep.relationship.service.impl;
+
+import com.legacykeep.relationship.cache.FamilyTreeCache;
+import com.legacykeep.relationship.cache.RelationshipTypeRegistry;
+import com.legacykeep.relationship.dto.response.FamilyTreeResponse;
+import com.legacykeep.relationship.entity.RelationshipType;
+import com.legacykeep.relationship.repository.UserRelationshipRepository;
+import com.legacykeep.relationship.service.FamilyTreeService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Implementation of FamilyTreeService.
+ * Parent types are configured by name; child types are found through the reverseType
+ * pairing, so "Father" with reverse "Son" gives both directions.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class FamilyTreeServiceImpl implements FamilyTreeService {
+
+    private final UserRelationshipRepository userRelationshipRepository;
+    private final RelationshipTypeRegistry relationshipTypeRegistry;
+    private final FamilyTreeCache familyTreeCache;
+
+    @Value("${relationship.family-tree.parent-types:Father,Mother}")
+    private List<String> parentTypeNames;
+
+    @Value("${relationship.family-tree.max-depth:10}")
+    private int maxDepth;
+
+    @Override
+    @Transactional(readOnly = true)
+    public FamilyTreeResponse getFamilyTree(Long userId, int depth) {
+        if (depth < 1 || depth > maxDepth) {
+            throw new IllegalArgumentException("Depth must be between 1 and " + maxDepth);
+        }
+
+        FamilyTreeResponse cached = familyTreeCache.get(userId, depth);
+        if (cached != null) {
+            log.debug("Family tree cache hit for user: {} depth: {}", userId, depth);
+            return cached;
+        }
+
+        log.debug("Getting family tree for user: {} depth: {}", userId, depth);
+        long version = familyTreeCache.version();
+
+        Set<Long> parentTypeIds = new HashSet<>();
+        Set<Long> familyTypeIds = new HashSet<>();
+        for (String name : parentTypeNames) {
+            relationshipTypeRegistry.findByName(name.trim()).ifPresent(type -> {
+                parentTypeIds.add(type.getId());
+                familyTypeIds.add(type.getId());
+                if (type.getReverseType() != null) {
+                    familyTypeIds.add(type.getReverseType().getId());
+                }
+            });
+        }
+        for (RelationshipType type : relationshipTypeRegistry.findAll()) {
+            if (type.getReverseType() != null && parentTypeIds.contains(type.getReverseType().getId())) {
+                familyTypeIds.add(type.getId());
+            }
+        }
+
+        Map<Long, Integer> generations = new LinkedHashMap<>();
+        Map<Long, FamilyTreeResponse.Edge> edges = new LinkedHashMap<>();
+        generations.put(userId, 0);
+
+        if (!parentTypeIds.isEmpty()) {
+            List<Object[]> rows = userRelationshipRepository.findFamilyTree(userId, depth, parentTypeIds, familyTypeIds);
+            for (Object[] row : rows) {
+                Long memberId = ((Number) row[0]).longValue();
+                Long relationshipId = ((Number) row[3]).longValue();
+                int generation = ((Number) row[5]).intValue();
+
+                Integer known = generations.get(memberId);
+                if (known == null || Math.abs(generation) < Math.abs(known)) {
+                    generations.put(memberId, generation);
+                }
+                edges.computeIfAbsent(relationshipId, id -> FamilyTreeResponse.Edge.builder()
+                        .relationshipId(id)
+                        .parentUserId(((Number) row[1]).longValue())
+                        .childUserId(((Number) row[2]).longValue())
+                        .relationshipTypeId(((Number) row[4]).longValue())
+                        .build());
+            }
+        }
+
+        List<FamilyTreeResponse.Node> nodes = new ArrayList<>(generations.size());
+        generations.forEach((memberId, generation) -> nodes.add(FamilyTreeResponse.Node.builder()
+                .userId(memberId)
+                .generation(generation)
+                .build()));
+
+        FamilyTreeResponse tree = FamilyTreeResponse.builder()
+                .rootUserId(userId)
+                .depth(depth)
+                .nodes(nodes)
+                .edges(new ArrayList<>(edges.values()))
+                .build();
+        familyTreeCache.put(userId, depth, tree, version);
+        return tree;
+    }
+}
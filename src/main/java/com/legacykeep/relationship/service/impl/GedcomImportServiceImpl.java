@@ -0,0 +1,414 @@
+package com.legacykeep.relationship.service.impl;
+
+import com.legacykeep.relationship.cache.RelationshipTypeRegistry;
+import com.legacykeep.relationship.dto.request.CreateRelationshipRequest;
+import com.legacykeep.relationship.dto.response.BulkCreateRelationshipResponse;
+import com.legacykeep.relationship.entity.RelationshipType;
+import com.legacykeep.relationship.exception.ResourceNotFoundException;
+import com.legacykeep.relationship.gedcom.GedcomFamily;
+import com.legacykeep.relationship.gedcom.GedcomImportJob;
+import com.legacykeep.relationship.gedcom.GedcomListener;
+import com.legacykeep.relationship.gedcom.GedcomParser;
+import com.legacykeep.relationship.gedcom.GedcomXrefMapping;
+import com.legacykeep.relationship.service.GedcomImportService;
+import com.legacykeep.relationship.service.UserRelationshipService;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedReader;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Implementation of GedcomImportService.
+ * Each import runs as a parser thread feeding a bounded queue of batches and a writer
+ * thread draining it through the bulk create path, so a slow database throttles the
+ * parser instead of letting parsed records pile up in memory. Individuals map to users
+ * only through the mapping supplied with the upload; a file that links any individual
+ * without one is rejected before anything is written.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class GedcomImportServiceImpl implements GedcomImportService {
+
+    private static final List<CreateRelationshipRequest> END_OF_FILE = new ArrayList<>(0);
+
+    /**
+     * Unmapped cross-references quoted in the error of a rejected import
+     */
+    private static final int UNMAPPED_SAMPLE_SIZE = 5;
+
+    private final UserRelationshipService userRelationshipService;
+    private final RelationshipTypeRegistry relationshipTypeRegistry;
+
+    private final Map<String, GedcomImportJob> jobs = new ConcurrentHashMap<>();
+
+    @Value("${relationship.gedcom.max-concurrent-imports:2}")
+    private int maxConcurrentImports;
+
+    @Value("${relationship.gedcom.batch-size:1000}")
+    private int batchSize;
+
+    @Value("${relationship.gedcom.queue-capacity:4}")
+    private int queueCapacity;
+
+    @Value("${relationship.gedcom.retained-jobs:100}")
+    private int retainedJobs;
+
+    @Value("${relationship.gedcom.father-type:Father}")
+    private String fatherTypeName;
+
+    @Value("${relationship.gedcom.mother-type:Mother}")
+    private String motherTypeName;
+
+    @Value("${relationship.gedcom.spouse-type:Spouse}")
+    private String spouseTypeName;
+
+    private ExecutorService importExecutor;
+    private ExecutorService parserExecutor;
+
+    @PostConstruct
+    void startExecutors() {
+        // Writers and parsers get separate pools so a queued import can never hold a
+        // writer thread while waiting for a parser thread that is not available
+        importExecutor = Executors.newFixedThreadPool(maxConcurrentImports, threadFactory("gedcom-import-"));
+        parserExecutor = Executors.newFixedThreadPool(maxConcurrentImports, threadFactory("gedcom-parser-"));
+    }
+
+    @PreDestroy
+    void stopExecutors() {
+        importExecutor.shutdownNow();
+        parserExecutor.shutdownNow();
+    }
+
+    @Override
+    public GedcomImportJob startImport(InputStream content, GedcomXrefMapping mapping) throws IOException {
+        Path file = Files.createTempFile("gedcom-import-", ".ged");
+        try {
+            Files.copy(content, file, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            Files.deleteIfExists(file);
+            throw e;
+        }
+
+        GedcomImportJob job = new GedcomImportJob(UUID.randomUUID().toString(), Files.size(file));
+        evictFinishedJobs();
+        jobs.put(job.getId(), job);
+
+        log.info("Queued GEDCOM import {} ({} bytes, {} mapped individuals)", job.getId(), job.getFileSizeBytes(), mapping.size());
+        importExecutor.execute(() -> runImport(job, file, mapping));
+        return job;
+    }
+
+    @Override
+    public Optional<GedcomImportJob> getJob(String jobId) {
+        return Optional.ofNullable(jobs.get(jobId));
+    }
+
+    private void runImport(GedcomImportJob job, Path file, GedcomXrefMapping mapping) {
+        job.start();
+        Future<?> parser = null;
+        try {
+            FamilyTypes types = resolveTypes();
+            UnmappedXrefs unmapped = findUnmapped(file, mapping);
+            if (unmapped.count > 0) {
+                log.info("Rejected GEDCOM import {}: {} linked individuals have no user mapping", job.getId(), unmapped.count);
+                job.fail(unmapped.count + " linked individuals have no user mapping, e.g. " + String.join(", ", unmapped.samples));
+                return;
+            }
+
+            BlockingQueue<List<CreateRelationshipRequest>> queue = new ArrayBlockingQueue<>(queueCapacity);
+            parser = parserExecutor.submit(() -> {
+                parseInto(job, file, mapping, types, queue);
+                return null;
+            });
+
+            List<CreateRelationshipRequest> batch;
+            while ((batch = queue.take()) != END_OF_FILE) {
+                writeBatch(job, batch);
+            }
+            parser.get();
+
+            job.complete();
+            log.info("Completed GEDCOM import {}: {} individuals, {} families, {} relationships created, {} duplicates",
+                    job.getId(), job.getIndividualsParsed().get(), job.getFamiliesParsed().get(),
+                    job.getRelationshipsCreated().get(), job.getDuplicates().get());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            job.fail("Import interrupted");
+        } catch (IOException e) {
+            log.error("GEDCOM import {} failed while checking the xref mapping", job.getId(), e);
+            job.fail(e.getMessage());
+        } catch (ExecutionException e) {
+            log.error("GEDCOM import {} failed while parsing", job.getId(), e.getCause());
+            job.fail(e.getCause().getMessage());
+        } catch (RuntimeException e) {
+            log.error("GEDCOM import {} failed", job.getId(), e);
+            job.fail(e.getMessage());
+        } finally {
+            if (parser != null) {
+                parser.cancel(true);
+            }
+            try {
+                Files.deleteIfExists(file);
+            } catch (IOException e) {
+                log.warn("Could not delete GEDCOM import file {}", file, e);
+            }
+        }
+    }
+
+    private void writeBatch(GedcomImportJob job, List<CreateRelationshipRequest> batch) {
+        BulkCreateRelationshipResponse response = userRelationshipService.createRelationships(batch);
+        long duplicates = response.getResults().stream()
+                .filter(r -> BulkCreateRelationshipResponse.ItemStatus.DUPLICATE.name().equals(r.getStatus()))
+                .count();
+
+        job.getRelationshipsCreated().addAndGet(response.getCreated());
+        job.getDuplicates().addAndGet(duplicates);
+        job.getInvalid().addAndGet(response.getFailed() - duplicates);
+        job.getBatchesWritten().incrementAndGet();
+    }
+
+    private void parseInto(GedcomImportJob job, Path file, GedcomXrefMapping mapping, FamilyTypes types,
+                           BlockingQueue<List<CreateRelationshipRequest>> queue) throws IOException, InterruptedException {
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(
+                new CountingInputStream(Files.newInputStream(file), job.getBytesRead()), StandardCharsets.UTF_8), 1 << 16)) {
+            BatchingListener listener = new BatchingListener(job, mapping, types, queue);
+            GedcomParser.parse(reader, listener);
+            listener.flush();
+        } catch (CancellationException e) {
+            throw new InterruptedException("GEDCOM parsing cancelled");
+        } finally {
+            queue.put(END_OF_FILE);
+        }
+    }
+
+    /**
+     * Read the file once to find the individuals linked by a family that have no user mapping
+     */
+    private static UnmappedXrefs findUnmapped(Path file, GedcomXrefMapping mapping) throws IOException {
+        UnmappedXrefs unmapped = new UnmappedXrefs(mapping);
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            GedcomParser.parse(reader, unmapped);
+        }
+        return unmapped;
+    }
+
+    private FamilyTypes resolveTypes() {
+        return new FamilyTypes(
+                requireType(fatherTypeName).getId(),
+                requireType(motherTypeName).getId(),
+                requireType(spouseTypeName).getId());
+    }
+
+    private RelationshipType requireType(String name) {
+        return relationshipTypeRegistry.findByName(name)
+                .orElseThrow(() -> new ResourceNotFoundException("Relationship type not found with name: " + name));
+    }
+
+    private void evictFinishedJobs() {
+        if (jobs.size() < retainedJobs) {
+            return;
+        }
+        Iterator<GedcomImportJob> it = jobs.values().stream()
+                .filter(GedcomImportJob::isFinished)
+                .sorted((a, b) -> a.getSubmittedAt().compareTo(b.getSubmittedAt()))
+                .iterator();
+        while (jobs.size() >= retainedJobs && it.hasNext()) {
+            jobs.remove(it.next().getId());
+        }
+    }
+
+    private static ThreadFactory threadFactory(String prefix) {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    private record FamilyTypes(long fatherTypeId, long motherTypeId, long spouseTypeId) {
+    }
+
+    /**
+     * Counts the distinct cross-references linked by FAM records that the mapping does not cover
+     */
+    private static final class UnmappedXrefs implements GedcomListener {
+
+        private final GedcomXrefMapping mapping;
+        private final Set<String> seen = new HashSet<>();
+        private final List<String> samples = new ArrayList<>();
+        private long count;
+
+        UnmappedXrefs(GedcomXrefMapping mapping) {
+            this.mapping = mapping;
+        }
+
+        @Override
+        public void onIndividual(String xref) {
+        }
+
+        @Override
+        public void onFamily(GedcomFamily family) {
+            check(family.getHusbandXref());
+            check(family.getWifeXref());
+            for (String childXref : family.getChildXrefs()) {
+                check(childXref);
+            }
+        }
+
+        private void check(String xref) {
+            if (xref == null || mapping.userId(xref) != null || !seen.add(xref)) {
+                return;
+            }
+            count++;
+            if (samples.size() < UNMAPPED_SAMPLE_SIZE) {
+                samples.add(xref);
+            }
+        }
+    }
+
+    /**
+     * Turns FAM records into create requests and hands them to the writer in batches
+     */
+    private class BatchingListener implements GedcomListener {
+
+        private final GedcomImportJob job;
+        private final GedcomXrefMapping mapping;
+        private final FamilyTypes types;
+        private final BlockingQueue<List<CreateRelationshipRequest>> queue;
+        private List<CreateRelationshipRequest> batch;
+
+        BatchingListener(GedcomImportJob job, GedcomXrefMapping mapping, FamilyTypes types,
+                         BlockingQueue<List<CreateRelationshipRequest>> queue) {
+            this.job = job;
+            this.mapping = mapping;
+            this.types = types;
+            this.queue = queue;
+            this.batch = new ArrayList<>(batchSize);
+        }
+
+        @Override
+        public void onIndividual(String xref) {
+            job.getIndividualsParsed().incrementAndGet();
+        }
+
+        @Override
+        public void onFamily(GedcomFamily family) {
+            job.getFamiliesParsed().incrementAndGet();
+            Long husbandId = mapping.userId(family.getHusbandXref());
+            Long wifeId = mapping.userId(family.getWifeXref());
+
+            if (husbandId != null && wifeId != null) {
+                add(husbandId, wifeId, types.spouseTypeId());
+            }
+            for (String childXref : family.getChildXrefs()) {
+                Long childId = mapping.userId(childXref);
+                if (childId == null) {
+                    job.getInvalid().incrementAndGet();
+                    continue;
+                }
+                if (husbandId != null) {
+                    add(husbandId, childId, types.fatherTypeId());
+                }
+                if (wifeId != null) {
+                    add(wifeId, childId, types.motherTypeId());
+                }
+            }
+        }
+
+        private void add(long user1Id, long user2Id, long typeId) {
+            batch.add(CreateRelationshipRequest.builder()
+                    .user1Id(user1Id)
+                    .user2Id(user2Id)
+                    .relationshipTypeId(typeId)
+                    .build());
+            job.getRelationshipsSubmitted().incrementAndGet();
+            if (batch.size() >= batchSize) {
+                flush();
+            }
+        }
+
+        void flush() {
+            if (batch.isEmpty()) {
+                return;
+            }
+            try {
+                queue.put(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new CancellationException("GEDCOM parsing cancelled");
+            }
+            batch = new ArrayList<>(batchSize);
+        }
+    }
+
+    /**
+     * Counts bytes as the parser consumes them so progress can be reported against file size
+     */
+    private static final class CountingInputStream extends FilterInputStream {
+
+        private final AtomicLong count;
+
+        CountingInputStream(InputStream in, AtomicLong count) {
+            super(in);
+            this.count = count;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b >= 0) {
+                count.incrementAndGet();
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            int n = super.read(buffer, offset, length);
+            if (n > 0) {
+                count.addAndGet(n);
+            }
+            return n;
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            long skipped = super.skip(n);
+            count.addAndGet(skipped);
+            return skipped;
+        }
+    }
+}
@@ -0,0 +1,236 @@
+package com.legacykeep.relationship.service.impl;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.util.MinimalPrettyPrinter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.legacykeep.relationship.cache.RelationshipTypeRegistry;
+import com.legacykeep.relationship.dto.request.RelationshipExportRequest;
+import com.legacykeep.relationship.entity.RelationshipType;
+import com.legacykeep.relationship.entity.UserRelationship;
+import com.legacykeep.relationship.repository.UserRelationshipRepository;
+import com.legacykeep.relationship.service.RelationshipExportService;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Implementation of RelationshipExportService.
+ * Rows come from a server-side cursor and are written straight to the output; the
+ * persistence context is cleared every chunk so heap use does not grow with the export.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class RelationshipExportServiceImpl implements RelationshipExportService {
+
+    private static final String[] CSV_COLUMNS = {
+            "id", "user1Id", "user2Id", "relationshipTypeId", "relationshipTypeName", "status",
+            "contextId", "startDate", "endDate", "metadata", "createdAt", "updatedAt"
+    };
+
+    private final UserRelationshipRepository userRelationshipRepository;
+    private final RelationshipTypeRegistry relationshipTypeRegistry;
+    private final EntityManager entityManager;
+    private final ObjectMapper objectMapper;
+
+    @Value("${relationship.export.chunk-size:1000}")
+    private int chunkSize;
+
+    @Override
+    @Transactional(readOnly = true)
+    public long exportRelationships(RelationshipExportRequest request, OutputStream out) throws IOException {
+        log.info("Starting {} relationship export with filter: {}", request.getFormat(), request);
+
+        long rows = 0;
+        try (Stream<UserRelationship> stream = openStream(request);
+             RowWriter writer = request.getFormat() == RelationshipExportRequest.Format.CSV
+                     ? new CsvRowWriter(out)
+                     : new NdjsonRowWriter(out)) {
+            Iterator<UserRelationship> it = stream.iterator();
+            while (it.hasNext()) {
+                UserRelationship relationship = it.next();
+                writer.write(relationship, typeName(relationship));
+                if (++rows % chunkSize == 0) {
+                    writer.flush();
+                    entityManager.clear();
+                }
+            }
+        }
+
+        log.info("Finished relationship export: {} rows", rows);
+        return rows;
+    }
+
+    private Stream<UserRelationship> openStream(RelationshipExportRequest request) {
+        if (request.getStatus() != null) {
+            return userRelationshipRepository.streamByStatus(request.getStatus());
+        }
+        if (request.getRelationshipTypeId() != null) {
+            return userRelationshipRepository.streamByRelationshipTypeId(request.getRelationshipTypeId());
+        }
+        if (request.getStartDate() != null && request.getEndDate() != null) {
+            return userRelationshipRepository.streamByDateRange(request.getStartDate(), request.getEndDate());
+        }
+        if (request.isCurrentlyActive()) {
+            return userRelationshipRepository.streamCurrentlyActiveRelationships();
+        }
+        return userRelationshipRepository.streamAll();
+    }
+
+    private String typeName(UserRelationship relationship) {
+        // getId() on the lazy type reference reads the foreign key without initializing it
+        return relationshipTypeRegistry.findById(relationship.getRelationshipType().getId())
+                .map(RelationshipType::getName)
+                .orElse(null);
+    }
+
+    /**
+     * Writes one relationship per row; closing flushes but leaves the target stream open
+     */
+    private interface RowWriter extends AutoCloseable {
+
+        void write(UserRelationship relationship, String typeName) throws IOException;
+
+        void flush() throws IOException;
+
+        @Override
+        void close() throws IOException;
+    }
+
+    private final class NdjsonRowWriter implements RowWriter {
+
+        private final JsonGenerator generator;
+
+        NdjsonRowWriter(OutputStream out) throws IOException {
+            generator = objectMapper.getFactory().createGenerator(out, JsonEncoding.UTF8);
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.setPrettyPrinter(new MinimalPrettyPrinter(""));
+        }
+
+        @Override
+        public void write(UserRelationship relationship, String typeName) throws IOException {
+            generator.writeStartObject();
+            generator.writeNumberField("id", relationship.getId());
+            generator.writeNumberField("user1Id", relationship.getUser1Id());
+            generator.writeNumberField("user2Id", relationship.getUser2Id());
+            generator.writeNumberField("relationshipTypeId", relationship.getRelationshipType().getId());
+            writeStringField("relationshipTypeName", typeName);
+            generator.writeStringField("status", relationship.getStatus().name());
+            if (relationship.getContextId() != null) {
+                generator.writeNumberField("contextId", relationship.getContextId());
+            } else {
+                generator.writeNullField("contextId");
+            }
+            writeStringField("startDate", relationship.getStartDate() != null ? relationship.getStartDate().toString() : null);
+            writeStringField("endDate", relationship.getEndDate() != null ? relationship.getEndDate().toString() : null);
+            generator.writeFieldName("metadata");
+            if (relationship.getMetadata() != null) {
+                // jsonb column, so already valid JSON
+                generator.writeRawValue(relationship.getMetadata());
+            } else {
+                generator.writeNull();
+            }
+            writeStringField("createdAt", relationship.getCreatedAt() != null ? relationship.getCreatedAt().toString() : null);
+            writeStringField("updatedAt", relationship.getUpdatedAt() != null ? relationship.getUpdatedAt().toString() : null);
+            generator.writeEndObject();
+            generator.writeRaw('\n');
+        }
+
+        private void writeStringField(String name, String value) throws IOException {
+            if (value != null) {
+                generator.writeStringField(name, value);
+            } else {
+                generator.writeNullField(name);
+            }
+        }
+
+        @Override
+        public void flush() throws IOException {
+            generator.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            generator.close();
+        }
+    }
+
+    private static final class CsvRowWriter implements RowWriter {
+
+        private final Writer writer;
+
+        CsvRowWriter(OutputStream out) throws IOException {
+            writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 1 << 16);
+            writer.write(String.join(",", CSV_COLUMNS));
+            writer.write('\n');
+        }
+
+        @Override
+        public void write(UserRelationship relationship, String typeName) throws IOException {
+            writer.write(String.valueOf(relationship.getId()));
+            writer.write(',');
+            writer.write(String.valueOf(relationship.getUser1Id()));
+            writer.write(',');
+            writer.write(String.valueOf(relationship.getUser2Id()));
+            writer.write(',');
+            writer.write(String.valueOf(relationship.getRelationshipType().getId()));
+            writer.write(',');
+            writeField(typeName);
+            writer.write(',');
+            writer.write(relationship.getStatus().name());
+            writer.write(',');
+            writeField(relationship.getContextId());
+            writer.write(',');
+            writeField(relationship.getStartDate());
+            writer.write(',');
+            writeField(relationship.getEndDate());
+            writer.write(',');
+            writeField(relationship.getMetadata());
+            writer.write(',');
+            writeField(relationship.getCreatedAt());
+            writer.write(',');
+            writeField(relationship.getUpdatedAt());
+            writer.write('\n');
+        }
+
+        private void writeField(Object value) throws IOException {
+            if (value == null) {
+                return;
+            }
+            String text = value.toString();
+            boolean quote = text.indexOf(',') >= 0 || text.indexOf('"') >= 0
+                    || text.indexOf('\n') >= 0 || text.indexOf('\r') >= 0;
+            if (!quote) {
+                writer.write(text);
+                return;
+            }
+            writer.write('"');
+            writer.write(text.replace("\"", "\"\""));
+            writer.write('"');
+        }
+
+        @Override
+        public void flush() throws IOException {
+            writer.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            // Flush only: the response stream belongs to the servlet container
+            writer.flush();
+        }
+    }
+}
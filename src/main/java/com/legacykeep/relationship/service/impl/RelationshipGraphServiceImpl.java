@@ -0,0 +1,142 @@
+package com.legacykeep.relationship.service.impl;
+
+import com.legacykeep.relationship.cache.RelationshipTypeRegistry;
+import com.legacykeep.relationship.dto.response.CommonConnectionsResponse;
+import com.legacykeep.relationship.dto.response.RelationshipPathResponse;
+import com.legacykeep.relationship.entity.RelationshipType;
+import com.legacykeep.relationship.entity.UserRelationship;
+import com.legacykeep.relationship.exception.ServiceUnavailableException;
+import com.legacykeep.relationship.graph.EdgeData;
+import com.legacykeep.relationship.graph.EdgeFilter;
+import com.legacykeep.relationship.graph.GraphPath;
+import com.legacykeep.relationship.graph.RelationshipGraphEngine;
+import com.legacykeep.relationship.service.RelationshipGraphService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Implementation of RelationshipGraphService backed by RelationshipGraphEngine
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class RelationshipGraphServiceImpl implements RelationshipGraphService {
+
+    private final RelationshipGraphEngine relationshipGraphEngine;
+    private final RelationshipTypeRegistry relationshipTypeRegistry;
+
+    @Value("${relationship.graph.path.max-depth:6}")
+    private int maxPathDepth;
+
+    @Value("${relationship.graph.path.time-budget-ms:250}")
+    private long pathTimeBudgetMs;
+
+    @Override
+    public RelationshipPathResponse findPath(Long user1Id, Long user2Id,
+                                             Collection<RelationshipType.RelationshipCategory> categories,
+                                             boolean activeOnly, Integer maxDepth) {
+        log.debug("Finding path between users: {} and {}, categories: {}, activeOnly: {}",
+                user1Id, user2Id, categories, activeOnly);
+
+        requireLoaded();
+        int depth = maxDepth == null ? maxPathDepth : Math.min(maxDepth, maxPathDepth);
+        if (depth < 1) {
+            throw new IllegalArgumentException("maxDepth must be at least 1");
+        }
+
+        GraphPath path = relationshipGraphEngine.shortestPath(user1Id, user2Id, edgeFilter(categories, activeOnly),
+                depth, TimeUnit.MILLISECONDS.toNanos(pathTimeBudgetMs));
+
+        RelationshipPathResponse.RelationshipPathResponseBuilder response = RelationshipPathResponse.builder()
+                .user1Id(user1Id)
+                .user2Id(user2Id)
+                .found(path.isFound())
+                .outcome(path.getOutcome().name())
+                .visitedUsers(path.getVisitedUsers());
+        if (!path.isFound()) {
+            return response.build();
+        }
+
+        List<Long> users = new ArrayList<>(path.getUsers().length);
+        List<RelationshipPathResponse.PathStep> steps = new ArrayList<>(path.length());
+        for (long user : path.getUsers()) {
+            users.add(user);
+        }
+        for (int i = 0; i < path.length(); i++) {
+            int data = path.getEdgeData()[i];
+            RelationshipType type = relationshipTypeRegistry.findById(EdgeData.typeId(data)).orElse(null);
+            steps.add(RelationshipPathResponse.PathStep.builder()
+                    .fromUserId(path.getUsers()[i])
+                    .toUserId(path.getUsers()[i + 1])
+                    .relationshipId(path.getRelationshipIds()[i])
+                    .relationshipTypeId(EdgeData.typeId(data))
+                    .relationshipTypeName(type != null ? type.getName() : null)
+                    .category(type != null ? type.getCategory().name() : null)
+                    .status(EdgeData.status(data).name())
+                    .fromUser1(EdgeData.isOutgoing(data))
+                    .build());
+        }
+        return response
+                .degreesOfSeparation(path.length())
+                .users(users)
+                .steps(steps)
+                .build();
+    }
+
+    @Override
+    public CommonConnectionsResponse findCommonConnections(Long user1Id, Long user2Id,
+                                                           Collection<RelationshipType.RelationshipCategory> categories,
+                                                           boolean activeOnly) {
+        log.debug("Finding common connections of users: {} and {}, categories: {}, activeOnly: {}",
+                user1Id, user2Id, categories, activeOnly);
+
+        if (user1Id.equals(user2Id)) {
+            throw new IllegalArgumentException("Common connections need two different users");
+        }
+        requireLoaded();
+
+        long[] common = relationshipGraphEngine.commonNeighbors(user1Id, user2Id, edgeFilter(categories, activeOnly));
+        List<Long> userIds = new ArrayList<>(common.length);
+        for (long userId : common) {
+            userIds.add(userId);
+        }
+        return CommonConnectionsResponse.builder()
+                .user1Id(user1Id)
+                .user2Id(user2Id)
+                .count(userIds.size())
+                .userIds(userIds)
+                .build();
+    }
+
+    private void requireLoaded() {
+        if (!relationshipGraphEngine.isLoaded()) {
+            throw new ServiceUnavailableException("Relationship graph is still loading");
+        }
+    }
+
+    /**
+     * Build an edge filter from optional category and active-only restrictions
+     */
+    private EdgeFilter edgeFilter(Collection<RelationshipType.RelationshipCategory> categories, boolean activeOnly) {
+        EdgeFilter filter = EdgeFilter.ALL;
+        if (categories != null && !categories.isEmpty()) {
+            long[] typeIds = categories.stream()
+                    .flatMap(category -> relationshipTypeRegistry.findByCategory(category).stream())
+                    .mapToLong(RelationshipType::getId)
+                    .toArray();
+            filter = EdgeFilter.types(typeIds);
+        }
+        if (activeOnly) {
+            filter = filter.and(EdgeFilter.statuses(EnumSet.of(UserRelationship.RelationshipStatus.ACTIVE)));
+        }
+        return filter;
+    }
+}
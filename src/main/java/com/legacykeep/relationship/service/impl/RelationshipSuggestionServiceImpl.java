@@ -0,0 +1,132 @@
+package com.legacykeep.relationship.service.impl;
+
+import com.legacykeep.relationship.cache.RelationshipExistenceFilter;
+import com.legacykeep.relationship.dto.response.RelationshipSuggestionsResponse;
+import com.legacykeep.relationship.entity.RelationshipSuggestion;
+import com.legacykeep.relationship.entity.RelationshipSuggestionId;
+import com.legacykeep.relationship.graph.RelationshipGraphEngine;
+import com.legacykeep.relationship.graph.RelationshipSuggestionEngine;
+import com.legacykeep.relationship.repository.RelationshipSuggestionRepository;
+import com.legacykeep.relationship.repository.UserRelationshipRepository;
+import com.legacykeep.relationship.service.RelationshipSuggestionService;
+import com.legacykeep.relationship.util.UserPair;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Implementation of RelationshipSuggestionService.
+ * Suggestions are computed for every user by RelationshipSuggestionEngine and stored in
+ * relationship_suggestions, so a request is one primary key range scan. Each chunk of
+ * users is replaced in its own transaction; a session advisory lock keeps one instance
+ * refreshing at a time. Suggestions linked since the last run are left out on read.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class RelationshipSuggestionServiceImpl implements RelationshipSuggestionService {
+
+    private static final long REFRESH_LOCK_KEY = 0x52454C5355474753L;
+
+    private final RelationshipSuggestionRepository relationshipSuggestionRepository;
+    private final UserRelationshipRepository userRelationshipRepository;
+    private final RelationshipSuggestionEngine relationshipSuggestionEngine;
+    private final RelationshipGraphEngine relationshipGraphEngine;
+    private final RelationshipExistenceFilter relationshipExistenceFilter;
+    private final PlatformTransactionManager transactionManager;
+
+    @Value("${relationship.suggestions.cleanup-chunk-size:10000}")
+    private int cleanupChunkSize;
+
+    @Override
+    @Transactional(readOnly = true)
+    public RelationshipSuggestionsResponse getSuggestions(Long userId) {
+        log.debug("Getting relationship suggestions for user: {}", userId);
+
+        List<RelationshipSuggestion> rows = relationshipSuggestionRepository.findByUserId(userId);
+
+        // Most suggestions are ruled out by the existence filter; only the rest are checked in one query
+        Set<UserPair> candidatePairs = new HashSet<>();
+        for (RelationshipSuggestion row : rows) {
+            if (relationshipExistenceFilter.mightContain(userId, row.getSuggestedUserId())) {
+                candidatePairs.add(UserPair.of(userId, row.getSuggestedUserId()));
+            }
+        }
+        Set<UserPair> linkedPairs = candidatePairs.isEmpty()
+                ? Set.of()
+                : userRelationshipRepository.findExistingPairs(candidatePairs, false);
+
+        List<RelationshipSuggestionsResponse.Suggestion> suggestions = new ArrayList<>(rows.size());
+        for (RelationshipSuggestion row : rows) {
+            if (!linkedPairs.contains(UserPair.of(userId, row.getSuggestedUserId()))) {
+                suggestions.add(RelationshipSuggestionsResponse.Suggestion.builder()
+                        .suggestedUserId(row.getSuggestedUserId())
+                        .kind(row.getKind().name())
+                        .support(row.getSupport())
+                        .build());
+            }
+        }
+
+        return RelationshipSuggestionsResponse.builder()
+                .userId(userId)
+                .computedAt(rows.isEmpty() ? null : rows.get(0).getComputedAt())
+                .suggestions(suggestions)
+                .build();
+    }
+
+    @Override
+    @Scheduled(cron = "${relationship.suggestions.refresh-cron:0 0 4 * * *}")
+    public void refreshSuggestions() {
+        if (!relationshipGraphEngine.isLoaded()) {
+            log.info("Skipping relationship suggestion refresh; relationship graph is still loading");
+            return;
+        }
+        if (!relationshipSuggestionRepository.runWithSessionLock(REFRESH_LOCK_KEY, this::recompute)) {
+            log.info("Relationship suggestions are already being refreshed by another instance");
+        }
+    }
+
+    private void recompute() {
+        long started = System.currentTimeMillis();
+        LocalDateTime computedAt = LocalDateTime.now();
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        long[] stored = new long[1];
+
+        int users = relationshipSuggestionEngine.computeAll((userIds, suggestions) -> {
+            List<RelationshipSuggestion> rows = new ArrayList<>(suggestions.size());
+            for (RelationshipSuggestionEngine.Suggestion suggestion : suggestions) {
+                rows.add(RelationshipSuggestion.builder()
+                        .id(new RelationshipSuggestionId(suggestion.userId(), suggestion.rank()))
+                        .suggestedUserId(suggestion.suggestedUserId())
+                        .kind(suggestion.kind())
+                        .support(suggestion.support())
+                        .computedAt(computedAt)
+                        .build());
+            }
+            transactionTemplate.executeWithoutResult(status ->
+                    relationshipSuggestionRepository.replaceForUsers(userIds, rows));
+            stored[0] += rows.size();
+        });
+
+        // Users no longer in the graph, or without suggestions, still have rows from earlier runs
+        Integer deleted;
+        do {
+            deleted = transactionTemplate.execute(status ->
+                    relationshipSuggestionRepository.deleteComputedBefore(computedAt, cleanupChunkSize));
+        } while (deleted != null && deleted == cleanupChunkSize);
+
+        log.info("Stored {} relationship suggestions for {} users in {} ms",
+                stored[0], users, System.currentTimeMillis() - started);
+    }
+}
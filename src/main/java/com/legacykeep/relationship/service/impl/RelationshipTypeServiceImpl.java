@@ -1,5 +1,8 @@
 package com.legacykeep.relationship.service.impl;
 
+import com.legacykeep.relationship.cache.FamilyTreeCache;
+import com.legacykeep.relationship.cache.RelationshipCacheEvictor;
+import com.legacykeep.relationship.cache.RelationshipTypeRegistry;
 import com.legacykeep.relationship.dto.request.CreateRelationshipTypeRequest;
 import com.legacykeep.relationship.dto.request.UpdateRelationshipTypeRequest;
 import com.legacykeep.relationship.entity.RelationshipType;
@@ -7,6 +10,7 @@ import com.legacykeep.relationship.exception.ResourceNotFoundException;
 import com.legacykeep.relationship.exception.DuplicateResourceException;
 import com.legacykeep.relationship.repository.RelationshipTypeRepository;
 import com.legacykeep.relationship.service.RelationshipTypeService;
+import com.legacykeep.relationship.util.TransactionCallbacks;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
@@ -24,42 +28,38 @@ import java.util.Optional;
 public class RelationshipTypeServiceImpl implements RelationshipTypeService {
 
     private final RelationshipTypeRepository relationshipTypeRepository;
+    private final RelationshipTypeRegistry relationshipTypeRegistry;
+    private final FamilyTreeCache familyTreeCache;
+    private final RelationshipCacheEvictor relationshipCacheEvictor;
 
     @Override
-    @Transactional(readOnly = true)
     public List<RelationshipType> getAllRelationshipTypes() {
         log.debug("Getting all relationship types");
-        return relationshipTypeRepository.findAll();
+        return relationshipTypeRegistry.findAll();
     }
 
     @Override
-    @Transactional(readOnly = true)
     public List<RelationshipType> getRelationshipTypesByCategory(RelationshipType.RelationshipCategory category) {
         log.debug("Getting relationship types by category: {}", category);
-        return relationshipTypeRepository.findByCategory(category);
+        return relationshipTypeRegistry.findByCategory(category);
     }
 
     @Override
-    @Transactional(readOnly = true)
     public List<RelationshipType> getRelationshipTypesByBidirectional(Boolean bidirectional) {
         log.debug("Getting relationship types by bidirectional: {}", bidirectional);
-        return bidirectional ? 
-               relationshipTypeRepository.findByBidirectionalTrue() : 
-               relationshipTypeRepository.findByBidirectionalFalse();
+        return relationshipTypeRegistry.findByBidirectional(bidirectional);
     }
 
     @Override
-    @Transactional(readOnly = true)
     public Optional<RelationshipType> getRelationshipTypeById(Long id) {
         log.debug("Getting relationship type by ID: {}", id);
-        return relationshipTypeRepository.findById(id);
+        return relationshipTypeRegistry.findById(id);
     }
 
     @Override
-    @Transactional(readOnly = true)
     public Optional<RelationshipType> getRelationshipTypeByName(String name) {
         log.debug("Getting relationship type by name: {}", name);
-        return relationshipTypeRepository.findByName(name);
+        return relationshipTypeRegistry.findByName(name);
     }
 
     @Override
@@ -88,6 +88,8 @@ public class RelationshipTypeServiceImpl implements RelationshipTypeService {
                 .build();
 
         RelationshipType saved = relationshipTypeRepository.save(relationshipType);
+        relationshipTypeRegistry.reloadAfterCommit();
+        TransactionCallbacks.afterCommit(familyTreeCache::clear);
         log.info("Created relationship type: {} with ID: {}", saved.getName(), saved.getId());
         return saved;
     }
@@ -127,6 +129,11 @@ public class RelationshipTypeServiceImpl implements RelationshipTypeService {
         }
 
         RelationshipType updated = relationshipTypeRepository.save(relationshipType);
+        relationshipTypeRegistry.reloadAfterCommit();
+        TransactionCallbacks.afterCommit(() -> {
+            familyTreeCache.clear();
+            relationshipCacheEvictor.evictAllResponses();
+        });
         log.info("Updated relationship type: {} with ID: {}", updated.getName(), updated.getId());
         return updated;
     }
@@ -140,25 +147,29 @@ public class RelationshipTypeServiceImpl implements RelationshipTypeService {
                 .orElseThrow(() -> new ResourceNotFoundException("Relationship type not found with ID: " + id));
 
         relationshipTypeRepository.delete(relationshipType);
+        relationshipTypeRegistry.reloadAfterCommit();
+        TransactionCallbacks.afterCommit(() -> {
+            familyTreeCache.clear();
+            relationshipCacheEvictor.evictAllResponses();
+        });
         log.info("Deleted relationship type: {} with ID: {}", relationshipType.getName(), id);
     }
 
     @Override
-    @Transactional(readOnly = true)
     public boolean existsByName(String name) {
-        return relationshipTypeRepository.findByName(name).isPresent();
+        return relationshipTypeRegistry.findByName(name).isPresent();
     }
 
     @Override
-    @Transactional(readOnly = true)
     public boolean existsByNameAndIdNot(String name, Long id) {
-        return relationshipTypeRepository.existsByNameAndIdNot(name, id);
+        return relationshipTypeRegistry.findByName(name)
+                .filter(rt -> !rt.getId().equals(id))
+                .isPresent();
     }
 
     @Override
-    @Transactional(readOnly = true)
     public List<RelationshipType> searchRelationshipTypes(String name) {
         log.debug("Searching relationship types by name: {}", name);
-        return relationshipTypeRepository.findByNameContainingIgnoreCase(name);
+        return relationshipTypeRegistry.search(name);
     }
 }
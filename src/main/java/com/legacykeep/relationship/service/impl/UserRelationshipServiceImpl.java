@@ -1,23 +1,60 @@
 package com.legacykeep.relationship.service.impl;
 
+import com.legacykeep.relationship.cache.FamilyTreeCache;
+import com.legacykeep.relationship.cache.RelationshipCacheEvictor;
+import com.legacykeep.relationship.cache.RelationshipExistenceFilter;
+import com.legacykeep.relationship.cache.RelationshipTypeRegistry;
+import com.legacykeep.relationship.config.CacheConfig;
+import com.legacykeep.relationship.dto.RelationshipChangeCursor;
+import com.legacykeep.relationship.dto.RelationshipCursor;
+import com.legacykeep.relationship.dto.RelationshipRow;
+import com.legacykeep.relationship.dto.request.BatchRelationshipExistsRequest;
 import com.legacykeep.relationship.dto.request.CreateRelationshipRequest;
+import com.legacykeep.relationship.dto.request.RelationshipFilterRequest;
 import com.legacykeep.relationship.dto.request.UpdateRelationshipRequest;
+import com.legacykeep.relationship.dto.response.BulkCreateRelationshipResponse;
+import com.legacykeep.relationship.dto.response.RelationshipChangesResponse;
+import com.legacykeep.relationship.dto.response.UserRelationshipResponse;
+import com.legacykeep.relationship.dto.response.UserRelationshipStatsResponse;
+import com.legacykeep.relationship.entity.RelationshipEdge;
 import com.legacykeep.relationship.entity.RelationshipType;
 import com.legacykeep.relationship.entity.UserRelationship;
+import com.legacykeep.relationship.event.RelationshipEventPublisher;
 import com.legacykeep.relationship.exception.ResourceNotFoundException;
 import com.legacykeep.relationship.exception.DuplicateResourceException;
-import com.legacykeep.relationship.repository.RelationshipTypeRepository;
+import com.legacykeep.relationship.graph.RelationshipGraphEngine;
+import com.legacykeep.relationship.repository.RelationshipChangeRepository;
 import com.legacykeep.relationship.repository.UserRelationshipRepository;
+import com.legacykeep.relationship.repository.UserRelationshipSpecifications;
 import com.legacykeep.relationship.service.UserRelationshipService;
+import com.legacykeep.relationship.util.TransactionCallbacks;
+import com.legacykeep.relationship.util.UserPair;
+import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 /**
  * Implementation of UserRelationshipService
@@ -28,7 +65,29 @@ import java.util.Optional;
 public class UserRelationshipServiceImpl implements UserRelationshipService {
 
     private final UserRelationshipRepository userRelationshipRepository;
-    private final RelationshipTypeRepository relationshipTypeRepository;
+    private final RelationshipChangeRepository relationshipChangeRepository;
+    private final RelationshipTypeRegistry relationshipTypeRegistry;
+    private final RelationshipGraphEngine relationshipGraphEngine;
+    private final FamilyTreeCache familyTreeCache;
+    private final RelationshipExistenceFilter relationshipExistenceFilter;
+    private final RelationshipCacheEvictor relationshipCacheEvictor;
+    private final RelationshipEventPublisher relationshipEventPublisher;
+    private final EntityManager entityManager;
+
+    @Value("${relationship.bulk.max-items:20000}")
+    private int bulkMaxItems;
+
+    @Value("${relationship.bulk.flush-size:1000}")
+    private int bulkFlushSize;
+
+    @Value("${relationship.exists-batch.max-pairs:500}")
+    private int existsBatchMaxPairs;
+
+    @Value("${relationship.changes.max-limit:1000}")
+    private int changesMaxLimit;
+
+    @Value("${relationship.changes.retention-days:30}")
+    private int changesRetentionDays;
 
     @Override
     @Transactional(readOnly = true)
@@ -79,11 +138,189 @@ public class UserRelationshipServiceImpl implements UserRelationshipService {
         return userRelationshipRepository.findActiveRelationshipsBetweenUsers(user1Id, user2Id);
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    @Cacheable(cacheNames = CacheConfig.USER_RELATIONSHIPS, key = "#userId",
+               condition = "(#filter == null || #filter.empty) && #pageable.pageNumber == 0 && " +
+                           "#pageable.pageSize == T(com.legacykeep.relationship.config.CacheConfig).USER_RELATIONSHIPS_PAGE_SIZE")
+    public Page<UserRelationshipResponse> getUserRelationshipResponses(Long userId, RelationshipFilterRequest filter,
+                                                                       Pageable pageable) {
+        log.debug("Projecting relationships for user: {} with filter: {} and pagination: {}", userId, filter, pageable);
+        Specification<RelationshipEdge> spec = userRelationshipSpecification(userId, filter);
+        if (spec == null) {
+            return Page.empty(pageable);
+        }
+        return userRelationshipRepository.findRows(spec, pageable).map(this::toResponse);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Slice<UserRelationshipResponse> getUserRelationshipResponsesAfter(Long userId, RelationshipFilterRequest filter,
+                                                                             RelationshipCursor cursor, int size) {
+        log.debug("Projecting relationships for user: {} with filter: {} after cursor ordered by {}",
+                userId, filter, cursor.getSortKey());
+
+        Specification<RelationshipEdge> spec = userRelationshipSpecification(userId, filter);
+        if (spec == null) {
+            return new SliceImpl<>(List.of(), PageRequest.of(0, size), false);
+        }
+        if (!cursor.isFirst()) {
+            spec = spec.and(cursor.getSortKey() == RelationshipCursor.SortKey.CREATED_AT
+                    ? UserRelationshipSpecifications.afterCreatedAt(cursor.getCreatedAt(), cursor.getId())
+                    : UserRelationshipSpecifications.afterId(cursor.getId()));
+        }
+        // Fetch one extra row to learn whether another page exists without counting
+        List<RelationshipRow> rows = userRelationshipRepository.findRows(spec, cursor.getSortKey(), size + 1);
+
+        boolean hasNext = rows.size() > size;
+        List<UserRelationshipResponse> content = new ArrayList<>(Math.min(rows.size(), size));
+        for (int i = 0; i < rows.size() && i < size; i++) {
+            content.add(toResponse(rows.get(i)));
+        }
+        return new SliceImpl<>(content, PageRequest.of(0, size), hasNext);
+    }
+
+    /**
+     * Combine a user's listing filters into one specification. A category is resolved to
+     * its type IDs through the registry, so the type table is never joined. Returns null
+     * when the filters cannot match anything.
+     */
+    private Specification<RelationshipEdge> userRelationshipSpecification(Long userId, RelationshipFilterRequest filter) {
+        Specification<RelationshipEdge> spec = UserRelationshipSpecifications.forUser(userId);
+        if (filter == null) {
+            return spec;
+        }
+        if (filter.getStatus() != null) {
+            spec = spec.and(UserRelationshipSpecifications.hasStatus(filter.getStatus()));
+        }
+        if (filter.getContextId() != null) {
+            spec = spec.and(UserRelationshipSpecifications.hasContextId(filter.getContextId()));
+        }
+        if (filter.getCategory() != null || filter.getRelationshipTypeId() != null) {
+            Set<Long> typeIds = new HashSet<>();
+            if (filter.getCategory() != null) {
+                for (RelationshipType type : relationshipTypeRegistry.findByCategory(filter.getCategory())) {
+                    if (filter.getRelationshipTypeId() == null || filter.getRelationshipTypeId().equals(type.getId())) {
+                        typeIds.add(type.getId());
+                    }
+                }
+            } else {
+                typeIds.add(filter.getRelationshipTypeId());
+            }
+            if (typeIds.isEmpty()) {
+                return null;
+            }
+            spec = spec.and(UserRelationshipSpecifications.hasRelationshipTypeIn(typeIds));
+        }
+        return spec;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<UserRelationshipResponse> getRelationshipResponsesBetweenUsers(Long user1Id, Long user2Id, boolean activeOnly) {
+        log.debug("Projecting relationships between users: {} and {}, activeOnly: {}", user1Id, user2Id, activeOnly);
+        List<RelationshipRow> rows = activeOnly
+                ? userRelationshipRepository.findActiveRowsBetweenUsers(user1Id, user2Id)
+                : userRelationshipRepository.findRowsBetweenUsers(user1Id, user2Id);
+        List<UserRelationshipResponse> responses = new ArrayList<>(rows.size());
+        for (RelationshipRow row : rows) {
+            responses.add(toResponse(row));
+        }
+        return responses;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    @Cacheable(cacheNames = CacheConfig.RELATIONSHIP_BY_ID, key = "#id")
+    public Optional<UserRelationshipResponse> getRelationshipResponseById(Long id) {
+        log.debug("Projecting relationship by ID: {}", id);
+        return userRelationshipRepository.findRowById(id).map(this::toResponse);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public RelationshipChangesResponse getUserRelationshipChanges(Long userId, RelationshipChangeCursor since, int limit) {
+        log.debug("Getting relationship changes for user: {} since txid: {}", userId, since != null ? since.getTxid() : null);
+
+        if (limit > changesMaxLimit) {
+            throw new IllegalArgumentException("At most " + changesMaxLimit + " changes can be requested at once");
+        }
+        Instant now = Instant.now();
+        // Leave an hour's margin for changes that were in flight when the cursor was issued
+        boolean expired = since != null
+                && since.getIssuedAt().isBefore(now.minus(Duration.ofDays(changesRetentionDays)).plus(Duration.ofHours(1)));
+        if (since == null || expired) {
+            return RelationshipChangesResponse.builder()
+                    .userId(userId)
+                    .changes(List.of())
+                    .nextCursor(RelationshipChangeCursor.atHorizon(relationshipChangeRepository.findChangeHorizon(), now).encode())
+                    .fullResyncRequired(expired)
+                    .build();
+        }
+
+        List<Object[]> entries = relationshipChangeRepository.findUserChangesAfter(
+                userId, since.getTxid(), since.getChangeId(), limit + 1);
+        boolean hasMore = entries.size() > limit;
+        List<Object[]> page = hasMore ? entries.subList(0, limit) : entries;
+
+        // A relationship changed several times is reported once, at its last change
+        LinkedHashSet<Long> relationshipIds = new LinkedHashSet<>();
+        for (Object[] entry : page) {
+            Long relationshipId = ((Number) entry[2]).longValue();
+            relationshipIds.remove(relationshipId);
+            relationshipIds.add(relationshipId);
+        }
+        Map<Long, RelationshipRow> current = new HashMap<>();
+        if (!relationshipIds.isEmpty()) {
+            for (RelationshipRow row : userRelationshipRepository.findRowsByIdIn(relationshipIds)) {
+                current.put(row.id(), row);
+            }
+        }
+        List<RelationshipChangesResponse.Change> changes = new ArrayList<>(relationshipIds.size());
+        for (Long relationshipId : relationshipIds) {
+            RelationshipRow row = current.get(relationshipId);
+            changes.add(RelationshipChangesResponse.Change.builder()
+                    .relationshipId(relationshipId)
+                    .deleted(row == null)
+                    .relationship(row != null ? toResponse(row) : null)
+                    .build());
+        }
+
+        RelationshipChangeCursor next;
+        if (page.isEmpty()) {
+            // Nothing new: move the cursor up to the horizon so it does not age out
+            long horizon = relationshipChangeRepository.findChangeHorizon();
+            next = horizon - 1 > since.getTxid() ? RelationshipChangeCursor.atHorizon(horizon, now)
+                    : new RelationshipChangeCursor(since.getTxid(), since.getChangeId(), now);
+        } else {
+            Object[] last = page.get(page.size() - 1);
+            next = new RelationshipChangeCursor(((Number) last[0]).longValue(), ((Number) last[1]).longValue(), now);
+        }
+
+        return RelationshipChangesResponse.builder()
+                .userId(userId)
+                .changes(changes)
+                .nextCursor(next.encode())
+                .hasMore(hasMore)
+                .build();
+    }
+
+    private UserRelationshipResponse toResponse(RelationshipRow row) {
+        return UserRelationshipResponse.fromRow(row, relationshipTypeRegistry.findById(row.relationshipTypeId()).orElse(null));
+    }
+
+    /**
+     * Rebuild a detached relationship from a row returned by a write, with its type from the registry
+     */
+    private UserRelationship toDetachedEntity(RelationshipRow row) {
+        return row.toDetachedEntity(relationshipTypeRegistry.findById(row.relationshipTypeId()).orElse(null));
+    }
+
     @Override
     @Transactional(readOnly = true)
     public Optional<UserRelationship> getRelationshipById(Long id) {
         log.debug("Getting relationship by ID: {}", id);
-        return userRelationshipRepository.findById(id);
+        return userRelationshipRepository.findByIdWithType(id);
     }
 
     @Override
@@ -97,15 +334,10 @@ public class UserRelationshipServiceImpl implements UserRelationshipService {
         }
 
         // Get relationship type
-        RelationshipType relationshipType = relationshipTypeRepository.findById(request.getRelationshipTypeId())
+        RelationshipType relationshipType = relationshipTypeRegistry.findById(request.getRelationshipTypeId())
                 .orElseThrow(() -> new ResourceNotFoundException("Relationship type not found with ID: " + request.getRelationshipTypeId()));
 
-        // Check if relationship already exists
-        if (userRelationshipRepository.existsBetweenUsers(request.getUser1Id(), request.getUser2Id())) {
-            throw new DuplicateResourceException("Relationship already exists between users");
-        }
-
-        UserRelationship userRelationship = UserRelationship.builder()
+        UserRelationship saved = UserRelationship.builder()
                 .user1Id(request.getUser1Id())
                 .user2Id(request.getUser2Id())
                 .relationshipType(relationshipType)
@@ -115,32 +347,146 @@ public class UserRelationshipServiceImpl implements UserRelationshipService {
                 .metadata(request.getMetadata())
                 .build();
 
-        UserRelationship saved = userRelationshipRepository.save(userRelationship);
+        // The unique pair index decides duplicates, so concurrent creates cannot both insert
+        if (!userRelationshipRepository.insertIfPairAbsent(saved)) {
+            throw new DuplicateResourceException("Relationship already exists between users");
+        }
+        relationshipEventPublisher.relationshipCreated(saved);
+        // Added before commit so a concurrent duplicate check cannot slip past the filter
+        relationshipExistenceFilter.add(saved.getUser1Id(), saved.getUser2Id());
+        TransactionCallbacks.afterCommit(() -> {
+            relationshipGraphEngine.upsert(saved);
+            familyTreeCache.evictMembers(saved.getUser1Id(), saved.getUser2Id());
+            relationshipCacheEvictor.evictUsers(saved.getUser1Id(), saved.getUser2Id());
+        });
         log.info("Created relationship with ID: {} between users: {} and {}", saved.getId(), saved.getUser1Id(), saved.getUser2Id());
         return saved;
     }
 
     @Override
     @Transactional
-    public UserRelationship updateRelationship(Long id, UpdateRelationshipRequest request) {
-        log.debug("Updating relationship with ID: {}", id);
+    public BulkCreateRelationshipResponse createRelationships(List<CreateRelationshipRequest> requests) {
+        log.debug("Bulk creating {} relationships", requests.size());
 
-        UserRelationship userRelationship = userRelationshipRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Relationship not found with ID: " + id));
+        if (requests.size() > bulkMaxItems) {
+            throw new IllegalArgumentException("At most " + bulkMaxItems + " relationships can be created per request");
+        }
 
-        if (request.getStatus() != null) {
-            userRelationship.setStatus(UserRelationship.RelationshipStatus.valueOf(request.getStatus()));
+        // One set-based query finds every requested pair that already has a relationship. The
+        // existence filter is not consulted: a pair just created on another instance may not
+        // have reached it yet, and a missed duplicate would fail the whole batch on insert
+        Set<UserPair> candidatePairs = new HashSet<>();
+        for (CreateRelationshipRequest request : requests) {
+            candidatePairs.add(UserPair.of(request.getUser1Id(), request.getUser2Id()));
         }
+        Set<UserPair> existingPairs = candidatePairs.isEmpty()
+                ? Set.of()
+                : userRelationshipRepository.findExistingPairs(candidatePairs, false);
 
-        if (request.getEndDate() != null) {
-            userRelationship.setEndDate(request.getEndDate());
+        List<BulkCreateRelationshipResponse.ItemResult> results = new ArrayList<>(requests.size());
+        List<BulkCreateRelationshipResponse.ItemResult> createdResults = new ArrayList<>();
+        List<UserRelationship> toInsert = new ArrayList<>();
+        Set<UserPair> claimedPairs = new HashSet<>();
+
+        for (int i = 0; i < requests.size(); i++) {
+            CreateRelationshipRequest request = requests.get(i);
+            BulkCreateRelationshipResponse.ItemResult result = BulkCreateRelationshipResponse.ItemResult.builder()
+                    .index(i)
+                    .build();
+            results.add(result);
+
+            if (request.getUser1Id().equals(request.getUser2Id())) {
+                reject(result, BulkCreateRelationshipResponse.ItemStatus.INVALID, "Cannot create relationship between same user");
+                continue;
+            }
+            RelationshipType relationshipType = relationshipTypeRegistry.findById(request.getRelationshipTypeId()).orElse(null);
+            if (relationshipType == null) {
+                reject(result, BulkCreateRelationshipResponse.ItemStatus.INVALID,
+                        "Relationship type not found with ID: " + request.getRelationshipTypeId());
+                continue;
+            }
+            UserPair pair = UserPair.of(request.getUser1Id(), request.getUser2Id());
+            if (existingPairs.contains(pair) || !claimedPairs.add(pair)) {
+                reject(result, BulkCreateRelationshipResponse.ItemStatus.DUPLICATE, "Relationship already exists between users");
+                continue;
+            }
+
+            toInsert.add(UserRelationship.builder()
+                    .user1Id(request.getUser1Id())
+                    .user2Id(request.getUser2Id())
+                    .relationshipType(relationshipType)
+                    .contextId(request.getContextId())
+                    .startDate(request.getStartDate())
+                    .status(UserRelationship.RelationshipStatus.ACTIVE)
+                    .metadata(request.getMetadata())
+                    .build());
+            createdResults.add(result);
         }
 
-        if (request.getMetadata() != null) {
-            userRelationship.setMetadata(request.getMetadata());
+        // Sequence IDs are pooled, so Hibernate batches these inserts; flushing in chunks keeps the context small
+        for (int from = 0; from < toInsert.size(); from += bulkFlushSize) {
+            List<UserRelationship> chunk = userRelationshipRepository.saveAll(
+                    toInsert.subList(from, Math.min(from + bulkFlushSize, toInsert.size())));
+            for (UserRelationship created : chunk) {
+                relationshipEventPublisher.relationshipCreated(created);
+            }
+            entityManager.flush();
+            entityManager.clear();
+        }
+        for (int i = 0; i < toInsert.size(); i++) {
+            relationshipExistenceFilter.add(toInsert.get(i).getUser1Id(), toInsert.get(i).getUser2Id());
+            createdResults.get(i).setStatus(BulkCreateRelationshipResponse.ItemStatus.CREATED.name());
+            createdResults.get(i).setRelationshipId(toInsert.get(i).getId());
         }
 
-        UserRelationship updated = userRelationshipRepository.save(userRelationship);
+        TransactionCallbacks.afterCommit(() -> {
+            Long[] members = new Long[toInsert.size() * 2];
+            for (int i = 0; i < toInsert.size(); i++) {
+                UserRelationship created = toInsert.get(i);
+                relationshipGraphEngine.upsert(created);
+                relationshipCacheEvictor.evictUsers(created.getUser1Id(), created.getUser2Id());
+                members[2 * i] = created.getUser1Id();
+                members[2 * i + 1] = created.getUser2Id();
+            }
+            familyTreeCache.evictMembers(members);
+        });
+
+        log.info("Bulk created {} of {} requested relationships", toInsert.size(), requests.size());
+        return BulkCreateRelationshipResponse.builder()
+                .requested(requests.size())
+                .created(toInsert.size())
+                .failed(requests.size() - toInsert.size())
+                .results(results)
+                .build();
+    }
+
+    private static void reject(BulkCreateRelationshipResponse.ItemResult result,
+                               BulkCreateRelationshipResponse.ItemStatus status, String error) {
+        result.setStatus(status.name());
+        result.setError(error);
+    }
+
+    @Override
+    @Transactional
+    public UserRelationship updateRelationship(Long id, UpdateRelationshipRequest request) {
+        log.debug("Updating relationship with ID: {}", id);
+
+        UserRelationship.RelationshipStatus status = request.getStatus() != null
+                ? UserRelationship.RelationshipStatus.valueOf(request.getStatus())
+                : null;
+
+        // One UPDATE ... RETURNING; an empty result means there was no row to update
+        UserRelationship updated = userRelationshipRepository
+                .updateAndReturn(id, status, request.getEndDate(), request.getMetadata())
+                .map(this::toDetachedEntity)
+                .orElseThrow(() -> new ResourceNotFoundException("Relationship not found with ID: " + id));
+        relationshipEventPublisher.relationshipUpdated(updated);
+        TransactionCallbacks.afterCommit(() -> {
+            relationshipGraphEngine.upsert(updated);
+            familyTreeCache.evictMembers(updated.getUser1Id(), updated.getUser2Id());
+            relationshipCacheEvictor.evictRelationship(updated.getId());
+            relationshipCacheEvictor.evictUserListings(updated.getUser1Id(), updated.getUser2Id());
+        });
         log.info("Updated relationship with ID: {}", updated.getId());
         return updated;
     }
@@ -150,27 +496,86 @@ public class UserRelationshipServiceImpl implements UserRelationshipService {
     public void deleteRelationship(Long id) {
         log.debug("Deleting relationship with ID: {}", id);
 
-        UserRelationship userRelationship = userRelationshipRepository.findById(id)
+        UserRelationship userRelationship = userRelationshipRepository.deleteAndReturn(id)
+                .map(this::toDetachedEntity)
                 .orElseThrow(() -> new ResourceNotFoundException("Relationship not found with ID: " + id));
 
-        userRelationshipRepository.delete(userRelationship);
+        relationshipEventPublisher.relationshipDeleted(userRelationship);
+        TransactionCallbacks.afterCommit(() -> {
+            relationshipGraphEngine.remove(id);
+            relationshipExistenceFilter.recordRemoval();
+            familyTreeCache.evictMembers(userRelationship.getUser1Id(), userRelationship.getUser2Id());
+            relationshipCacheEvictor.evictRelationship(id);
+            relationshipCacheEvictor.evictUsers(userRelationship.getUser1Id(), userRelationship.getUser2Id());
+        });
         log.info("Deleted relationship with ID: {}", id);
     }
 
     @Override
-    @Transactional(readOnly = true)
     public boolean relationshipExistsBetweenUsers(Long user1Id, Long user2Id) {
-        return userRelationshipRepository.existsBetweenUsers(user1Id, user2Id);
+        // Not transactional, so a definite negative from the filter never takes a connection
+        return pairExists(user1Id, user2Id, false);
     }
 
     @Override
-    @Transactional(readOnly = true)
     public boolean activeRelationshipExistsBetweenUsers(Long user1Id, Long user2Id) {
-        return userRelationshipRepository.existsActiveBetweenUsers(user1Id, user2Id);
+        return pairExists(user1Id, user2Id, true);
+    }
+
+    @Override
+    public boolean[] relationshipsExistBetweenUsers(List<BatchRelationshipExistsRequest.Pair> pairs, boolean activeOnly) {
+        log.debug("Checking {} user pairs for relationships, activeOnly: {}", pairs.size(), activeOnly);
+
+        if (pairs.size() > existsBatchMaxPairs) {
+            throw new IllegalArgumentException("At most " + existsBatchMaxPairs + " pairs can be checked per request");
+        }
+
+        Set<UserPair> candidatePairs = new HashSet<>();
+        for (BatchRelationshipExistsRequest.Pair pair : pairs) {
+            if (!pair.getUser1Id().equals(pair.getUser2Id())
+                    && relationshipExistenceFilter.mightContain(pair.getUser1Id(), pair.getUser2Id())) {
+                candidatePairs.add(UserPair.of(pair.getUser1Id(), pair.getUser2Id()));
+            }
+        }
+
+        boolean[] exists = new boolean[pairs.size()];
+        if (candidatePairs.isEmpty()) {
+            return exists;
+        }
+
+        Set<UserPair> existingPairs = userRelationshipRepository.findExistingPairs(candidatePairs, activeOnly);
+        if (!activeOnly) {
+            for (int i = existingPairs.size(); i < candidatePairs.size(); i++) {
+                relationshipExistenceFilter.recordFalsePositive();
+            }
+        }
+        for (int i = 0; i < exists.length; i++) {
+            BatchRelationshipExistsRequest.Pair pair = pairs.get(i);
+            exists[i] = existingPairs.contains(UserPair.of(pair.getUser1Id(), pair.getUser2Id()));
+        }
+        return exists;
+    }
+
+    /**
+     * Ask the database whether two users are related only when the existence filter cannot rule it out
+     */
+    private boolean pairExists(Long user1Id, Long user2Id, boolean activeOnly) {
+        if (!relationshipExistenceFilter.mightContain(user1Id, user2Id)) {
+            return false;
+        }
+        if (activeOnly) {
+            return userRelationshipRepository.existsActiveBetweenUsers(user1Id, user2Id);
+        }
+        boolean exists = userRelationshipRepository.existsBetweenUsers(user1Id, user2Id);
+        if (!exists) {
+            relationshipExistenceFilter.recordFalsePositive();
+        }
+        return exists;
     }
 
     @Override
     @Transactional(readOnly = true)
+    @Cacheable(cacheNames = CacheConfig.USER_RELATIONSHIP_COUNTS, key = "#userId")
     public long countUserRelationships(Long userId) {
         return userRelationshipRepository.countByUserId(userId);
     }
@@ -180,4 +585,45 @@ public class UserRelationshipServiceImpl implements UserRelationshipService {
     public long countActiveUserRelationships(Long userId) {
         return userRelationshipRepository.countActiveByUserId(userId);
     }
+
+    @Override
+    @Transactional(readOnly = true)
+    public UserRelationshipStatsResponse getUserRelationshipStats(Long userId) {
+        log.debug("Getting relationship statistics for user: {}", userId);
+
+        Map<UserRelationship.RelationshipStatus, Long> byStatus = new EnumMap<>(UserRelationship.RelationshipStatus.class);
+        for (UserRelationship.RelationshipStatus status : UserRelationship.RelationshipStatus.values()) {
+            byStatus.put(status, 0L);
+        }
+        Map<RelationshipType.RelationshipCategory, Long> byCategory = new EnumMap<>(RelationshipType.RelationshipCategory.class);
+        for (RelationshipType.RelationshipCategory category : RelationshipType.RelationshipCategory.values()) {
+            byCategory.put(category, 0L);
+        }
+
+        long total = 0;
+        for (Object[] row : userRelationshipRepository.countByUserIdGroupedByStatusAndType(userId)) {
+            UserRelationship.RelationshipStatus status = (UserRelationship.RelationshipStatus) row[0];
+            Long typeId = (Long) row[1];
+            long count = ((Number) row[2]).longValue();
+
+            total += count;
+            byStatus.merge(status, count, Long::sum);
+            relationshipTypeRegistry.findById(typeId)
+                    .ifPresent(type -> byCategory.merge(type.getCategory(), count, Long::sum));
+        }
+
+        Map<String, Long> statusCounts = new LinkedHashMap<>();
+        byStatus.forEach((status, count) -> statusCounts.put(status.name(), count));
+        Map<String, Long> categoryCounts = new LinkedHashMap<>();
+        byCategory.forEach((category, count) -> categoryCounts.put(category.name(), count));
+
+        return UserRelationshipStatsResponse.builder()
+                .userId(userId)
+                .totalRelationships(total)
+                .activeRelationships(byStatus.get(UserRelationship.RelationshipStatus.ACTIVE))
+                .endedRelationships(byStatus.get(UserRelationship.RelationshipStatus.ENDED))
+                .byStatus(statusCounts)
+                .byCategory(categoryCounts)
+                .build();
+    }
 }
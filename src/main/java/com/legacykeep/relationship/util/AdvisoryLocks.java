@@ -0,0 +1,46 @@
+package com.legacykeep.relationship.util;
+
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+
+/**
+ * Helpers for Postgres advisory locks
+ */
+public final class AdvisoryLocks {
+
+    private AdvisoryLocks() {
+    }
+
+    /**
+     * Run the task while holding a session-level advisory lock, without waiting for it.
+     * The lock is held on a connection of its own, outside any transaction, for as long as
+     * the task runs; the task's own statements use other connections.
+     *
+     * @return false if another session holds the lock and the task was not run
+     */
+    public static boolean runWithSessionLock(JdbcTemplate jdbcTemplate, long key, Runnable task) {
+        Boolean ran = jdbcTemplate.execute((ConnectionCallback<Boolean>) connection -> {
+            try (PreparedStatement lock = connection.prepareStatement("SELECT pg_try_advisory_lock(?)")) {
+                lock.setLong(1, key);
+                try (ResultSet rs = lock.executeQuery()) {
+                    if (!rs.next() || !rs.getBoolean(1)) {
+                        return false;
+                    }
+                }
+            }
+            try {
+                task.run();
+            } finally {
+                try (PreparedStatement unlock = connection.prepareStatement("SELECT pg_advisory_unlock(?)")) {
+                    unlock.setLong(1, key);
+                    unlock.execute();
+                }
+            }
+            return true;
+        });
+        return Boolean.TRUE.equals(ran);
+    }
+}
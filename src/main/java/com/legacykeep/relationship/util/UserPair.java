@@ -0,0 +1,11 @@
+package com.legacykeep.relationship.util;
+
+/**
+ * Unordered pair of user IDs in canonical (low, high) order
+ */
+public record UserPair(long lowId, long highId) {
+
+    public static UserPair of(long user1Id, long user2Id) {
+        return user1Id <= user2Id ? new UserPair(user1Id, user2Id) : new UserPair(user2Id, user1Id);
+    }
+}